@@ -1,49 +1,55 @@
-import javafx.scene.canvas.GraphicsContext;
 import java.util.ArrayList;
-import java.util.Random;
+import java.util.random.RandomGenerator;
 
-public class Landscape {
+public class Landscape extends AbstractLandscape {
     private Cell[][] landscape;
-    private int rows, columns;
-    private double initialChance;
+    // torus only: wrapRows[r + 1] is row r folded onto the board, for r = -1 .. rows
+    private final int[] wrapRows, wrapCols;
 
     public Landscape(int rows, int columns) {
         this(rows, columns, 0.5);
     }
 
     public Landscape(int rows, int columns, double chance) {
-        this.rows = rows;
-        this.columns = columns;
-        this.initialChance = chance;
+        this(rows, columns, chance, Rule.CONWAY);
+    }
+
+    public Landscape(int rows, int columns, double chance, Rule rule) {
+        this(rows, columns, chance, rule, Topology.FLAT);
+    }
+
+    public Landscape(int rows, int columns, double chance, Rule rule, Topology topology) {
+        super(rows, columns, chance, rule, topology);
         landscape = new Cell[rows][columns];
+        wrapRows = wrap(rows);
+        wrapCols = wrap(columns);
         reset();
     }
 
-    public int countLivingCells() {
-        int count = 0;
-        for (Cell[] row : landscape) {
-            for (Cell cell : row) {
-                if (cell.getAlive()) count++;
-            }
-        }
-        return count;
+    private static int[] wrap(int size) {
+        int[] wrap = new int[size + 2];
+        for (int i = 0; i < wrap.length; i++)
+            wrap[i] = Math.floorMod(i - 1, size);
+        return wrap;
     }
 
-    public void reset() {
-        Random rand = new Random();
+    public void reset(RandomGenerator rand) {
+        clearCounters();
+        Bernoulli bernoulli = new Bernoulli(rand, initialChance);
         for (int i = 0; i < rows; i++) {
             for (int j = 0; j < columns; j++) {
-                landscape[i][j] = new Cell(rand.nextDouble() < initialChance);
+                landscape[i][j] = new CountedCell(bernoulli.next(), i, j);
+                if (landscape[i][j].getAlive()) population++;
             }
         }
     }
 
-    public int getRows() {
-        return rows;
+    public boolean getAlive(int row, int col) {
+        return landscape[row][col].getAlive();
     }
 
-    public int getCols() {
-        return columns;
+    public void setAlive(int row, int col, boolean alive) {
+        landscape[row][col].setAlive(alive);
     }
 
     public Cell getCell(int row, int col) {
@@ -63,6 +69,15 @@ public class Landscape {
 
     public ArrayList<Cell> getNeighbors(int row, int col) {
         ArrayList<Cell> neighbors = new ArrayList<>();
+        if (topology == Topology.TORUS) {
+            for (int i = row; i <= row + 2; i++) {
+                Cell[] wrapped = landscape[wrapRows[i]];
+                for (int j = col; j <= col + 2; j++) {
+                    if (i != row + 1 || j != col + 1) neighbors.add(wrapped[wrapCols[j]]);
+                }
+            }
+            return neighbors;
+        }
         for (int i = -1; i <= 1; i++) {
             for (int j = -1; j <= 1; j++) {
                 if (i == 0 && j == 0) continue;
@@ -78,30 +93,39 @@ public class Landscape {
         Cell[][] tempGrid = new Cell[rows][columns];
         for (int i = 0; i < rows; i++) {
             for (int j = 0; j < columns; j++) {
-                tempGrid[i][j] = new Cell(landscape[i][j].getAlive());
+                tempGrid[i][j] = new CountedCell(landscape[i][j].getAlive(), i, j);
             }
         }
+        int born = 0, died = 0;
         for (int i = 0; i < rows; i++) {
-            for (int j = 0; j < columns; j++)
-                tempGrid[i][j].updateState(getNeighbors(i, j));
+            for (int j = 0; j < columns; j++) {
+                boolean wasAlive = tempGrid[i][j].getAlive();
+                tempGrid[i][j].updateState(getNeighbors(i, j), rule);
+                if (tempGrid[i][j].getAlive() != wasAlive) {
+                    if (wasAlive) died++;
+                    else born++;
+                }
+            }
         }
         landscape = tempGrid;
+        recordGeneration(born, died);
     }
 
-    public void draw(GraphicsContext g, int scale) {
-        // Clear the background with white color
-        g.setFill(javafx.scene.paint.Color.WHITE);
-        g.fillRect(0, 0, columns * scale, rows * scale);
-
-        // Draw living cells in black
-        g.setFill(javafx.scene.paint.Color.BLACK);
-        for (int x = 0; x < rows; x++) {
-            for (int y = 0; y < columns; y++) {
-                if (landscape[x][y].getAlive()) {
-                    // Ensure correct scaling and positioning of cells
-                    g.fillOval(y * scale, x * scale, scale, scale);
-                }
-            }
+    // A Cell of this landscape; edits through getCell() keep the population current
+    private final class CountedCell extends Cell {
+        private final int row, col;
+
+        CountedCell(boolean alive, int row, int col) {
+            super(alive);
+            this.row = row;
+            this.col = col;
+        }
+
+        @Override
+        public void setAlive(boolean alive) {
+            // cells replaced by a later generation no longer count
+            if (alive != getAlive() && landscape[row][col] == this) population += alive ? 1 : -1;
+            super.setAlive(alive);
         }
     }
-}
\ No newline at end of file
+}
@@ -39,7 +39,7 @@ public class LandscapeDisplay extends Application {
 
     private void render() {
         GraphicsContext gc = canvas.getGraphicsContext2D();
-        scape.draw(gc, gridScale);
+        LandscapePainter.draw(scape, gc, gridScale);
     }
 
     public void saveImage(String filename) {
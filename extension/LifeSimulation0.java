@@ -2,14 +2,13 @@ import java.awt.image.BufferedImage;
 import java.io.*;
 import java.nio.ByteBuffer;
 import java.nio.ShortBuffer;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
-import java.util.stream.IntStream;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.collections.ObservableFloatArray;
@@ -36,7 +35,8 @@ import javax.imageio.ImageIO;
 
 public class LifeSimulation0 extends Application {
     private static int CHART_WIDTH = 1000, CHART_HEIGHT = 2000, MIN_SIZE = 1, SLEEP_TIME = 1, CELL_SIZE = 8, steps = 1024, max = 9;
-    private static String OUTPUT_DIR = "simulation_results";
+    private static String OUTPUT_DIR = "simulation_results", STATE_SPACE_DIR = "state_space_cache", RESULT_CACHE = "result_cache.bin";
+    private static SweepPoints sweepPoints; // settings after the first three arguments, and the points themselves
     private int frameCount = 0;
     private File videoDir;
     private AtomicBoolean isRecording = new AtomicBoolean(false); // recording status
@@ -46,7 +46,6 @@ public class LifeSimulation0 extends Application {
     private Landscape currentLandscape;
     private Canvas simulationCanvas;
     private VBox mainLayout;
-    private Map<String, double[]> simulationCache = new HashMap<>();
 
     private synchronized void startRecording() { // synchronized
         if (isRecording.get()) return; // avoid repetitive starts
@@ -107,34 +106,6 @@ public class LifeSimulation0 extends Application {
         }
     }
 
-    private long simulateSingleRun(Landscape landscape) {
-        for (int step = 0; step < steps; step++)
-            landscape.advance();
-        
-        return landscape.countLivingCells();
-    }
-    
-    private double[] simulateForChance(int m, int n, double chance) {
-        String cacheKey = m + "," + n + "," + chance;
-        if (simulationCache.containsKey(cacheKey))
-            return simulationCache.get(cacheKey);
-
-        long totalLivingCells = 0, totalSquared = 0;
-        int r = m * n;
-        for (int rep = 0; rep < r; rep++) {
-            Landscape landscape = new Landscape(m, n, chance);
-            long livingCells = simulateSingleRun(landscape);
-            totalLivingCells += livingCells;
-            totalSquared += livingCells * livingCells;
-        }
-        double avg = totalLivingCells / ((double)r * steps);
-        double stdv = Math.sqrt((totalSquared / ((double)r * steps)) - (avg * avg));
-        
-        double[] result = new double[]{avg, stdv};
-        simulationCache.put(cacheKey, result); // Cache the result
-        return result;
-    }
-
     private void updateChart(String key, double chance, double[] data) {
         double avg = data[0];
         double stdv = data[1];
@@ -435,21 +406,21 @@ public class LifeSimulation0 extends Application {
     
             // Save initial state
             Platform.runLater(() -> {
-                currentLandscape.draw(simulationCanvas.getGraphicsContext2D(), CELL_SIZE);
+                LandscapePainter.draw(currentLandscape, simulationCanvas.getGraphicsContext2D(), CELL_SIZE);
                 try { saveSimulationState("initial_state"); } catch (IOException e) {}
             });
     
             // Run one step and save
             currentLandscape.advance();
             Platform.runLater(() -> {
-                currentLandscape.draw(simulationCanvas.getGraphicsContext2D(), CELL_SIZE);
+                LandscapePainter.draw(currentLandscape, simulationCanvas.getGraphicsContext2D(), CELL_SIZE);
                 try { saveSimulationState("after_one_step"); } catch (IOException e) {}
             });
     
             // Continue simulation
             for (int i = 2; i < steps && isSimulationRunning; i++) {
                 currentLandscape.advance();
-                Platform.runLater(() -> currentLandscape.draw(simulationCanvas.getGraphicsContext2D(), CELL_SIZE));
+                Platform.runLater(() -> LandscapePainter.draw(currentLandscape, simulationCanvas.getGraphicsContext2D(), CELL_SIZE));
                 try { Thread.sleep(SLEEP_TIME); } catch (InterruptedException e) { break; }
             }
             isSimulationRunning = false;
@@ -471,7 +442,7 @@ public class LifeSimulation0 extends Application {
         
         for (Map.Entry<String, LineChart<Number, Number>> entry : charts.entrySet()) {
             String dimensions = entry.getKey().replace(',', 'x');
-            String filename = dirName + "/landscape_" + dimensions + ".png";
+            String filename = dirName + "/landscape_" + dimensions + "_" + sweepPoints.getTopology().label() + ".png";
             saveChart(entry.getValue(), filename);
         }
     }
@@ -479,7 +450,7 @@ public class LifeSimulation0 extends Application {
     @Override
     public void start(Stage stage) {
     // Initialize components
-        currentLandscape = new Landscape(max, max, 0.5);
+        currentLandscape = new Landscape(max, max, 0.5, sweepPoints.getRule(), sweepPoints.getTopology());
         Canvas simulationCanvas = new Canvas(max * CELL_SIZE, max * CELL_SIZE);
         GraphicsContext gc = simulationCanvas.getGraphicsContext2D();
         gc.setFill(Color.WHITE);
@@ -528,8 +499,8 @@ public class LifeSimulation0 extends Application {
         });
         resetSimButton.setOnAction(_ -> {
             isSimulationRunning = false;
-            currentLandscape = new Landscape(max, max, 0.5);
-            currentLandscape.draw(simulationCanvas.getGraphicsContext2D(), CELL_SIZE);
+            currentLandscape = new Landscape(max, max, 0.5, sweepPoints.getRule(), sweepPoints.getTopology());
+            LandscapePainter.draw(currentLandscape, simulationCanvas.getGraphicsContext2D(), CELL_SIZE);
         });
         saveButton.setOnAction(_ -> {
             saveAllCharts(charts);
@@ -562,7 +533,7 @@ public class LifeSimulation0 extends Application {
                 yAxis.setLabel("Average Living Cells");
 
                 LineChart<Number, Number> chart = new LineChart<>(xAxis, yAxis);
-                chart.setTitle(m + "x" + n + " Landscape");
+                chart.setTitle(m + "x" + n + " " + sweepPoints.getTopology().label() + " Landscape");
                 chart.setCreateSymbols(false);
                 chart.setPrefSize(CHART_WIDTH, CHART_HEIGHT);
 
@@ -605,11 +576,11 @@ public class LifeSimulation0 extends Application {
         scene.setCamera(new PerspectiveCamera());
         stage.setScene(scene);
         stage.setMaximized(true);
-        stage.setTitle("Life Simulation - Visualization and Analysis");
+        stage.setTitle("Life Simulation - Visualization and Analysis - " + sweepPoints.getTopology().label());
         stage.show();
 
     // Initial draw
-        currentLandscape.draw(simulationCanvas.getGraphicsContext2D(), CELL_SIZE);
+        LandscapePainter.draw(currentLandscape, simulationCanvas.getGraphicsContext2D(), CELL_SIZE);
     }
     // update 3d graphs in response to the sliding bar
     private void update3DGraphs(double chance) {
@@ -623,15 +594,16 @@ public class LifeSimulation0 extends Application {
                 Map<Double, double[]> chanceData = new HashMap<>();
 
                 // Populate data for all possible chances (0.0 to 1.0 with step 0.05)
-                for (double c = 0.0; c <= 1.0; c += 0.05) {
-                    String cacheKey = m + "," + n + "," + c;
-                    double[] data = simulationCache.getOrDefault(cacheKey, simulateForChance(m, n, c));
-                    chanceData.put(c, data);
+                for (int i = 0; i <= 20; i++) {
+                    double c = i * 0.05;
+                    chanceData.put(c, sweepPoints.point(m, n, c)); // only simulates points not cached yet
                 }
                 allData.put(key, chanceData);
             }
         }
 
+        System.out.println("simulation cache: " + sweepPoints.getPointCache());
+
         // Create surface visualization using complete allData
         createSurfaceVisualization(root3D, allData);
 
@@ -641,30 +613,25 @@ public class LifeSimulation0 extends Application {
 
     private Map<String, Map<Double, double[]>> collectSimulationData() {
         Map<String, Map<Double, double[]>> allData = new ConcurrentHashMap<>();
-        CompletableFuture<?>[] futures = new CompletableFuture[max - MIN_SIZE + 1];
+        SweepScheduler scheduler = new SweepScheduler(Runtime.getRuntime().availableProcessors());
         for (int m = MIN_SIZE; m <= max; m++) {
-            final int finalM = m;
-            futures[m - MIN_SIZE] = CompletableFuture.runAsync(() -> {
-                for (int n = MIN_SIZE; n <= finalM; n++) {
-                    final int finalN = n;
-                    String key = finalM + "," + finalN;
-                    Map<Double, double[]> chanceData = new HashMap<>();
-                    allData.put(key, chanceData);
-
-                    IntStream.rangeClosed(0, 20).parallel().forEach(i -> {
-                        double chance = i * 0.05;
-                        double[] results = simulateForChance(finalM, finalN, chance);
-                        chanceData.put(chance, results);
-                        Platform.runLater(() -> {
-                            synchronized (charts) {
-                                updateChart(key, chance, results);
-                            }
-                        });
+            for (int n = MIN_SIZE; n <= m; n++) {
+                String key = m + "," + n;
+                Map<Double, double[]> chanceData = new ConcurrentHashMap<>();
+                allData.put(key, chanceData);
+
+                sweepPoints.addPoints(scheduler, m, n, (chance, results) -> {
+                    chanceData.put(chance, results);
+                    Platform.runLater(() -> {
+                        synchronized (charts) {
+                            updateChart(key, chance, results);
+                        }
                     });
-                }
-            });
+                });
+            }
         }
-        CompletableFuture.allOf(futures).join();
+        System.out.print(scheduler.run());
+        System.out.println("simulation cache: " + sweepPoints.getPointCache());
         return allData;
     }
 
@@ -690,7 +657,7 @@ public class LifeSimulation0 extends Application {
                         });
                     }
                 }
-            // collect data for 2D&3D visualization
+            // collect data for 2D&3D visualization; the 2D charts are updated as points finish
                 Map<String, Map<Double, double[]>> allData = collectSimulationData();
 
             // generate 3d contents
@@ -708,40 +675,6 @@ public class LifeSimulation0 extends Application {
                     meshes.put(chance, mesh);
                 }
 
-                // Collect data for both 2D and 3D visualizations
-                Map<String, Map<Double, Double>> allData2D = new HashMap<>();
-                
-                // For each grid size combination
-                for (int m = MIN_SIZE; m <= max; m++) {
-                    for (int n = MIN_SIZE; n <= m; n++) {
-                        final int finalM = m, finalN = n; 
-                        String key = m + "," + n;
-                        Map<Double, Double> chanceData = new HashMap<>();
-                        allData2D.put(key, chanceData);
-                        int r = 2 * finalM * finalM;
-                        
-                        // For each chance value
-                        IntStream.rangeClosed(0, 20).parallel().forEach(i -> { 
-                            double chance = i * 0.05;
-                            long totalLivingCells = 0;
-                            
-                        
-                            for (int rep = 0; rep < r; rep++) {
-                                Landscape landscape = new Landscape(finalM, finalN, chance);
-                                for (int step = 0; step < steps; step++) {
-                                    landscape.advance();
-                                    totalLivingCells += landscape.countLivingCells();
-                                }
-                            }
-                            final double averageLivingCells = totalLivingCells / ((double)r * steps);
-                            chanceData.put(chance, averageLivingCells);
-                        
-                            Platform.runLater(() -> {
-                                updateChart(key, chance, new double[]{averageLivingCells, 0});
-                            });
-                        });
-                    }
-                }
                 // Create 3D visualizations using collected data
                 for (int i = 0; i <= 20; i++) {
                     double chance = i * 0.05;
@@ -750,15 +683,15 @@ public class LifeSimulation0 extends Application {
                     // Update mesh points
                     float[] points = new float[(max - MIN_SIZE + 1) * (max - MIN_SIZE + 1) * 3];
                     int pointIndex = 0;
-                    double maxValue = allData2D.values().stream()
-                        .mapToDouble(map -> map.get(chance))
+                    double maxValue = allData.values().stream()
+                        .mapToDouble(map -> map.get(chance)[0])
                         .max()
                         .orElse(0.001);
 
                     for (int m = MIN_SIZE; m <= max; m++) {
                         for (int n = MIN_SIZE; n <= m; n++) {
                             String key = m + "," + n;
-                            double value = allData2D.get(key).get(chance);
+                            double value = allData.get(key).get(chance)[0];
                             
                             points[pointIndex++] = (m - MIN_SIZE) * 100f;
                             points[pointIndex++] = (n - MIN_SIZE) * 100f;
@@ -839,6 +772,9 @@ public class LifeSimulation0 extends Application {
             if (args.length >= 3)
                 OUTPUT_DIR=args[2];
         }
+        sweepPoints = SweepPoints.parse(args, steps, 1, new File(STATE_SPACE_DIR));
+        System.out.println("master seed: " + sweepPoints.getSeed());
+        sweepPoints.openResults(Path.of(RESULT_CACHE));
         launch(args);
     }
 }
\ No newline at end of file
@@ -2,12 +2,12 @@ import java.awt.image.BufferedImage;
 import java.io.*;
 import java.nio.ByteBuffer;
 import java.nio.ShortBuffer;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.stream.IntStream;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.collections.ObservableFloatArray;
@@ -34,7 +34,8 @@ import javax.imageio.ImageIO;
 
 public class LifeSimulation1 extends Application {
     private static int CHART_WIDTH = 1000, CHART_HEIGHT = 2000, MIN_SIZE = 1, SLEEP_TIME = 1, CELL_SIZE = 8, steps = 1024, max = 9;
-    private static String OUTPUT_DIR = "simulation_results";
+    private static String OUTPUT_DIR = "simulation_results", STATE_SPACE_DIR = "state_space_cache", RESULT_CACHE = "result_cache.bin";
+    private static SweepPoints sweepPoints; // settings after the first three arguments, and the points themselves
     private int frameCount = 0;
     private File videoDir;
     private AtomicBoolean isRecording = new AtomicBoolean(false); // recording status
@@ -44,7 +45,6 @@ public class LifeSimulation1 extends Application {
     private Landscape currentLandscape;
     private Canvas simulationCanvas;
     private VBox mainLayout;
-    private Map<String, double[]> simulationCache = new HashMap<>();
 
     private void startRecording() {
         if (isRecording.get()) return; // avoid repetitive starts
@@ -105,35 +105,6 @@ public class LifeSimulation1 extends Application {
     }
 
 
-    private long simulateSingleRun(Landscape landscape) {
-        for (int step = 0; step < steps; step++)
-            landscape.advance();
-        
-        return landscape.countLivingCells();
-    }
-    
-    private double[] simulateForChance(int m, int n, double chance) {
-        String cacheKey = m + "," + n + "," + chance;
-        if (simulationCache.containsKey(cacheKey)) {
-            return simulationCache.get(cacheKey);
-        }
-
-        long totalLivingCells = 0, totalSquared = 0;
-        int r = 2 * m * n;
-        for (int rep = 0; rep < r; rep++) {
-            Landscape landscape = new Landscape(m, n, chance);
-            long livingCells = simulateSingleRun(landscape);
-            totalLivingCells += livingCells;
-            totalSquared += livingCells * livingCells;
-        }
-        double avg = totalLivingCells / ((double)r * steps);
-        double stdv = Math.sqrt((totalSquared / ((double)r * steps)) - (avg * avg));
-        
-        double[] result = new double[]{avg, stdv};
-        simulationCache.put(cacheKey, result); // Cache the result
-        return result;
-    }
-
     private void updateChart(String key, double chance, double[] data) {
         double avg = data[0];
         double stdv = data[1];
@@ -394,21 +365,21 @@ public class LifeSimulation1 extends Application {
     
             // Save initial state
             Platform.runLater(() -> {
-                currentLandscape.draw(simulationCanvas.getGraphicsContext2D(), CELL_SIZE);
+                LandscapePainter.draw(currentLandscape, simulationCanvas.getGraphicsContext2D(), CELL_SIZE);
                 try { saveSimulationState("initial_state"); } catch (IOException e) {}
             });
     
             // Run one step and save
             currentLandscape.advance();
             Platform.runLater(() -> {
-                currentLandscape.draw(simulationCanvas.getGraphicsContext2D(), CELL_SIZE);
+                LandscapePainter.draw(currentLandscape, simulationCanvas.getGraphicsContext2D(), CELL_SIZE);
                 try { saveSimulationState("after_one_step"); } catch (IOException e) {}
             });
     
             // Continue simulation
             for (int i = 2; i < steps && isSimulationRunning; i++) {
                 currentLandscape.advance();
-                Platform.runLater(() -> currentLandscape.draw(simulationCanvas.getGraphicsContext2D(), CELL_SIZE));
+                Platform.runLater(() -> LandscapePainter.draw(currentLandscape, simulationCanvas.getGraphicsContext2D(), CELL_SIZE));
                 try { Thread.sleep(SLEEP_TIME); } catch (InterruptedException e) { break; }
             }
             isSimulationRunning = false;
@@ -430,7 +401,7 @@ public class LifeSimulation1 extends Application {
         
         for (Map.Entry<String, LineChart<Number, Number>> entry : charts.entrySet()) {
             String dimensions = entry.getKey().replace(',', 'x');
-            String filename = dirName + "/landscape_" + dimensions + ".png";
+            String filename = dirName + "/landscape_" + dimensions + "_" + sweepPoints.getTopology().label() + ".png";
             saveChart(entry.getValue(), filename);
         }
     }
@@ -438,7 +409,7 @@ public class LifeSimulation1 extends Application {
     @Override
     public void start(Stage stage) {
     // Initialize components
-        currentLandscape = new Landscape(max, max, 0.5);
+        currentLandscape = new Landscape(max, max, 0.5, sweepPoints.getRule(), sweepPoints.getTopology());
         simulationCanvas = new Canvas(max * CELL_SIZE, max * CELL_SIZE);
         GraphicsContext gc = simulationCanvas.getGraphicsContext2D();
         gc.setFill(Color.WHITE);
@@ -480,8 +451,8 @@ public class LifeSimulation1 extends Application {
         });
         resetSimButton.setOnAction(_ -> {
             isSimulationRunning = false;
-            currentLandscape = new Landscape(max, max, 0.5);
-            currentLandscape.draw(simulationCanvas.getGraphicsContext2D(), CELL_SIZE);
+            currentLandscape = new Landscape(max, max, 0.5, sweepPoints.getRule(), sweepPoints.getTopology());
+            LandscapePainter.draw(currentLandscape, simulationCanvas.getGraphicsContext2D(), CELL_SIZE);
         });
         saveButton.setOnAction(_ -> {
             saveAllCharts(charts);
@@ -515,7 +486,7 @@ public class LifeSimulation1 extends Application {
                 yAxis.setLabel("Average Living Cells");
 
                 LineChart<Number, Number> chart = new LineChart<>(xAxis, yAxis);
-                chart.setTitle(m + "x" + n + " Landscape");
+                chart.setTitle(m + "x" + n + " " + sweepPoints.getTopology().label() + " Landscape");
                 chart.setCreateSymbols(false);
                 chart.setPrefSize(CHART_WIDTH, CHART_HEIGHT);
 
@@ -540,11 +511,11 @@ public class LifeSimulation1 extends Application {
 
         stage.setScene(scene);
         stage.setMaximized(true);
-        stage.setTitle("Life Simulation - Visualization and Analysis");
+        stage.setTitle("Life Simulation - Visualization and Analysis - " + sweepPoints.getTopology().label());
         stage.show();
 
     // Initial draw
-        currentLandscape.draw(simulationCanvas.getGraphicsContext2D(), CELL_SIZE);
+        LandscapePainter.draw(currentLandscape, simulationCanvas.getGraphicsContext2D(), CELL_SIZE);
     }
 
     // update 3d graphs in response to the sliding bar
@@ -559,15 +530,16 @@ public class LifeSimulation1 extends Application {
                 Map<Double, double[]> chanceData = new HashMap<>();
 
                 // Populate data for all possible chances (0.0 to 1.0 with step 0.1)
-                for (double c = 0.0; c <= 1.0; c += 0.1) {
-                    String cacheKey = m + "," + n + "," + c;
-                    double[] data = simulationCache.getOrDefault(cacheKey, simulateForChance(m, n, c));
-                    chanceData.put(c, data);
+                for (int i = 0; i <= 10; i++) {
+                    double c = i * 0.1;
+                    chanceData.put(c, sweepPoints.point(m, n, c)); // only simulates points not cached yet
                 }
                 allData.put(key, chanceData);
             }
         }
 
+        System.out.println("simulation cache: " + sweepPoints.getPointCache());
+
         // Create surface visualization using complete allData
         createSurfaceVisualization(root3D, allData);
 
@@ -664,38 +636,29 @@ public class LifeSimulation1 extends Application {
 
                 // Collect data for both 2D and 3D visualizations
                 Map<String, Map<Double, Double>> allData2D = new HashMap<>();
+                SweepScheduler scheduler = new SweepScheduler(Runtime.getRuntime().availableProcessors());
                 
                 // For each grid size combination
                 for (int m = MIN_SIZE; m <= max; m++) {
                     for (int n = MIN_SIZE; n <= m; n++) {
                         String key = m + "," + n;
-                        Map<Double, Double> chanceData = new HashMap<>();
+                        Map<Double, Double> chanceData = new ConcurrentHashMap<>();
                         allData2D.put(key, chanceData);
-                        final int finalM = m, finalN = n;
                     
-                        // For each chance value
-                        IntStream.rangeClosed(0, 20).parallel().forEach(i -> { // 使用并行流
-                            double chance = i * 0.05;
-                            long totalLivingCells = 0;
-                            int r = 2 * finalM * finalM;
-                            for (int rep = 0; rep < r; rep++) {
-                                Landscape landscape = new Landscape(finalM, finalN, chance);
-                                for (int step = 0; step < steps; step++) {
-                                    landscape.advance();
-                                    totalLivingCells += landscape.countLivingCells();
-                                }
-                            }
-                            final double averageLivingCells = totalLivingCells / ((double)r * steps);
-                            chanceData.put(chance, averageLivingCells);
-                            
+                        // every chance, run longest first with the other sizes through the same cached
+                        // point path as the 3D graphs, so earlier runs' results are reused
+                        sweepPoints.addPoints(scheduler, m, n, (chance, result) -> {
+                            chanceData.put(chance, result[0]);
+                        
                             // Update 2D charts
-                            final double finalChance = chance;
                             Platform.runLater(() -> {
-                                updateChart(key, finalChance, new double[]{averageLivingCells, 0});
+                                updateChart(key, chance, result);
                             });
                         });
                     }
                 }
+                System.out.print(scheduler.run());
+                System.out.println("simulation cache: " + sweepPoints.getPointCache());
                 // Create 3D visualizations using collected data
                 for (int i = 0; i <= 20; i++) {
                     double chance = i * 0.05;
@@ -793,6 +756,9 @@ public class LifeSimulation1 extends Application {
             if (args.length >= 3)
                 OUTPUT_DIR=args[2];
         }
+        sweepPoints = SweepPoints.parse(args, steps, 2, new File(STATE_SPACE_DIR));
+        System.out.println("master seed: " + sweepPoints.getSeed());
+        sweepPoints.openResults(Path.of(RESULT_CACHE));
         launch(args);
     }
 }
\ No newline at end of file
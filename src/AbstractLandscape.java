@@ -0,0 +1,179 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Common surface shared by every Landscape engine. Subclasses only have to
+ * store cell states and compute the next generation; everything the
+ * simulations, displays and tests call is built on getAlive/setAlive.
+ *
+ * Subclasses keep population current in setAlive(), reset() and advance(),
+ * so countLivingCells() never scans the board, and report each generation's
+ * births and deaths through recordGeneration().
+ */
+public abstract class AbstractLandscape {
+    protected final int rows, columns;
+    protected double initialChance;
+    protected final Rule rule;
+    protected final Topology topology;
+    protected int population;
+    protected int births, deaths;
+
+    protected AbstractLandscape(int rows, int columns, double chance) {
+        this(rows, columns, chance, Rule.CONWAY);
+    }
+
+    protected AbstractLandscape(int rows, int columns, double chance, Rule rule) {
+        this(rows, columns, chance, rule, Topology.FLAT);
+    }
+
+    protected AbstractLandscape(int rows, int columns, double chance, Rule rule, Topology topology) {
+        this.rows = rows;
+        this.columns = columns;
+        this.initialChance = chance;
+        this.rule = rule;
+        this.topology = topology;
+    }
+
+    // Returns whether the cell at (row, col) is alive
+    public abstract boolean getAlive(int row, int col);
+
+    // Sets the state of the cell at (row, col)
+    public abstract void setAlive(int row, int col, boolean alive);
+
+    // Re-randomizes every cell with the initial chance from a fresh unseeded generator
+    public void reset() {
+        reset(new SplittableRandom());
+    }
+
+    // Re-randomizes every cell with the initial chance, drawing from rand; the same stream gives the same board
+    public abstract void reset(RandomGenerator rand);
+
+    // Moves the whole landscape forward by one generation
+    public abstract void advance();
+
+    // Moves forward by the given number of generations; engines that can jump ahead override this
+    public void advance(long generations) {
+        for (long g = 0; g < generations; g++)
+            advance();
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return columns;
+    }
+
+    public Rule getRule() {
+        return rule;
+    }
+
+    public Topology getTopology() {
+        return topology;
+    }
+
+    // Number of longs copyState() fills
+    public int stateWords() {
+        return (rows * columns + 63) >>> 6;
+    }
+
+    /**
+     * Fills words with the board, one bit per cell. Two snapshots of the same
+     * landscape are equal exactly when the boards are; engines that already
+     * pack their cells override this with a plain copy.
+     */
+    public void copyState(long[] words) {
+        Arrays.fill(words, 0, stateWords(), 0L);
+        int bit = 0;
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++, bit++) {
+                if (getAlive(i, j)) words[bit >>> 6] |= 1L << (bit & 63);
+            }
+        }
+    }
+
+    // Engines that don't keep Cell objects hand out a view that writes through
+    public Cell getCell(int row, int col) {
+        return new BoundCell(this, row, col);
+    }
+
+    public int countLivingCells() {
+        return population;
+    }
+
+    // Cells born in the last generation advanced; 0 before the first one and after reset()
+    public int getBirths() {
+        return births;
+    }
+
+    // Cells that died in the last generation advanced; 0 before the first one and after reset()
+    public int getDeaths() {
+        return deaths;
+    }
+
+    // Records one generation's births and deaths and moves the population by their difference
+    protected void recordGeneration(int births, int deaths) {
+        this.births = births;
+        this.deaths = deaths;
+        population += births - deaths;
+    }
+
+    // Clears the counters; reset() calls this before filling the board
+    protected void clearCounters() {
+        population = 0;
+        births = 0;
+        deaths = 0;
+    }
+
+    // On a torus every cell has eight neighbors, repeated on boards narrower than three cells
+    public ArrayList<Cell> getNeighbors(int row, int col) {
+        ArrayList<Cell> neighbors = new ArrayList<>();
+        for (int i = -1; i <= 1; i++) {
+            for (int j = -1; j <= 1; j++) {
+                if (i == 0 && j == 0) continue;
+                int newRow = row + i, newCol = col + j;
+                if (topology == Topology.TORUS)
+                    neighbors.add(getCell(Math.floorMod(newRow, rows), Math.floorMod(newCol, columns)));
+                else if (newRow >= 0 && newRow < rows && newCol >= 0 && newCol < columns)
+                    neighbors.add(getCell(newRow, newCol));
+            }
+        }
+        return neighbors;
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                sb.append(getAlive(i, j) ? "0" : "1"); // same symbols as Cell.toString()
+            }
+            sb.append("\n");
+        }
+        return sb.toString();
+    }
+
+    // A Cell that reads and writes its state through the owning landscape
+    private static class BoundCell extends Cell {
+        private final AbstractLandscape owner;
+        private final int row, col;
+
+        BoundCell(AbstractLandscape owner, int row, int col) {
+            this.owner = owner;
+            this.row = row;
+            this.col = col;
+        }
+
+        @Override
+        public boolean getAlive() {
+            return owner.getAlive(row, col);
+        }
+
+        @Override
+        public void setAlive(boolean alive) {
+            owner.setAlive(row, col, alive);
+        }
+    }
+}
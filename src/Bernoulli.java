@@ -0,0 +1,61 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * Random cells drawn 64 at a time. nextWord() sets each bit independently
+ * with probability chance, the same distribution as one
+ * rand.nextDouble() < chance per cell, from a few random longs.
+ *
+ * Each bit stands for a uniform number u read one binary digit at a time,
+ * the digits of all 64 bits coming from one random long per step. u is
+ * compared with the binary expansion of chance from the top: where the
+ * digits first differ, u < chance exactly when chance has the 1. Half of
+ * the undecided bits are settled per step, so a word takes about
+ * log2(64) + 2 longs instead of 64 doubles. chance is a double, so its
+ * expansion is finite; bits still undecided after it ends have u >= chance.
+ */
+public final class Bernoulli {
+    private final RandomGenerator rand;
+    private final double chance;
+    private long bits;
+    private int left;
+
+    // A source of single cells for engines that place cells one at a time
+    public Bernoulli(RandomGenerator rand, double chance) {
+        this.rand = rand;
+        this.chance = chance;
+    }
+
+    // The next cell, taken from the low bit of the current word
+    public boolean next() {
+        if (left == 0) {
+            bits = nextWord(rand, chance);
+            left = 64;
+        }
+        boolean alive = (bits & 1L) != 0;
+        bits >>>= 1;
+        left--;
+        return alive;
+    }
+
+    public static long nextWord(RandomGenerator rand, double chance) {
+        if (!(chance > 0)) return 0L;
+        if (chance >= 1) return -1L;
+        long alive = 0L, undecided = -1L;
+        // doubling and subtracting 1 are exact, so rest walks the expansion digit by digit
+        double rest = chance;
+        while (undecided != 0 && rest > 0) {
+            rest *= 2;
+            long digits = rand.nextLong();
+            if (rest >= 1) {
+                // chance has a 1: u has a 0 here, so u < chance
+                rest -= 1;
+                alive |= undecided & ~digits;
+                undecided &= digits;
+            } else {
+                // chance has a 0: u has a 1 here, so u > chance
+                undecided &= ~digits;
+            }
+        }
+        return alive;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+file name:      BernoulliTests.java
+
+How to run:     java -ea BernoulliTests
+
+*/
+
+//Note: this file is ready to run
+//Bits of Bernoulli.nextWord() must be set with probability chance, each on its own.
+
+import java.util.SplittableRandom;
+
+public class BernoulliTests {
+
+    public static void main(String[] args) {
+
+        // case 1: testing the frequency of set bits, overall and per bit position
+        {
+            // set up
+            int words = 200_000;
+            for (double chance : new double[]{ 0.001, 0.05, 0.3, 0.5, 0.77, 0.95 }) {
+                SplittableRandom rand = new SplittableRandom(17);
+                long[] perBit = new long[64];
+                long total = 0, pairs = 0;
+                for (int k = 0; k < words; k++) {
+                    long word = Bernoulli.nextWord(rand, chance);
+                    total += Long.bitCount(word);
+                    pairs += Long.bitCount(word & word >>> 1);
+                    for (long w = word; w != 0; w &= w - 1)
+                        perBit[Long.numberOfTrailingZeros(w)]++;
+                }
+                double n = 64.0 * words, sigma = Math.sqrt(n * chance * (1 - chance));
+                double pairSigma = Math.sqrt(63.0 * words * chance * chance * (1 - chance * chance));
+
+                // verify
+                System.out.println( chance + ": " + total / n );
+
+                // test
+                assert Math.abs(total - n * chance) < 5 * sigma : "Error in Bernoulli::nextWord() frequency at " + chance;
+                assert Math.abs(pairs - 63.0 * words * chance * chance) < 6 * pairSigma : "Error in Bernoulli::nextWord() neighboring bits at " + chance;
+                double bitSigma = Math.sqrt(words * chance * (1 - chance));
+                for (int b = 0; b < 64; b++)
+                    assert Math.abs(perBit[b] - words * chance) < 6 * bitSigma : "Error in Bernoulli::nextWord() bit " + b + " at " + chance;
+            }
+        }
+
+        // case 2: testing the edge chances and next() walking through the word
+        {
+            // set up
+            SplittableRandom rand = new SplittableRandom(1);
+            Bernoulli always = new Bernoulli(rand, 1.), never = new Bernoulli(rand, 0.);
+
+            // test
+            assert Bernoulli.nextWord(rand, 0.) == 0L && Bernoulli.nextWord(rand, -0.5) == 0L : "Error in Bernoulli::nextWord() at 0";
+            assert Bernoulli.nextWord(rand, 1.) == -1L : "Error in Bernoulli::nextWord() at 1";
+            for (int k = 0; k < 200; k++)
+                assert always.next() && !never.next() : "Error in Bernoulli::next()";
+
+            long word = Bernoulli.nextWord(new SplittableRandom(9), 0.4);
+            Bernoulli cells = new Bernoulli(new SplittableRandom(9), 0.4);
+            for (int b = 0; b < 64; b++)
+                assert cells.next() == ((word >>> b & 1L) != 0) : "Error in Bernoulli::next() bit " + b;
+        }
+    }
+}
@@ -26,22 +26,23 @@ public class Cell {
     // Returns a string representation of the Cell's state
     @Override
     public String toString() {
-        return alive ? "0" : "1"; // "0" for alive, "1" for dead
+        return getAlive() ? "0" : "1"; // "0" for alive, "1" for dead
     }
 
     // Updates the Cell's state based on neighbors
     public void updateState(ArrayList<Cell> neighbors) {
+        updateState(neighbors, Rule.CONWAY);
+    }
+
+    // Updates the Cell's state based on neighbors and a birth/survival rule
+    public void updateState(ArrayList<Cell> neighbors, Rule rule) {
         int liveNeighbors = 0;
         for (Cell neighbor : neighbors) {
             if (neighbor.getAlive()) {
                 liveNeighbors++;
             }
         }
-        if (alive) {
-            alive = (liveNeighbors == 2 || liveNeighbors == 3);
-        } else {
-            alive = (liveNeighbors == 3);
-        }
+        alive = rule.next(alive, liveNeighbors);
     }
 
     // Main method for testing
@@ -0,0 +1,107 @@
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Computes one row of a DenseLandscape generation under one Rule. Cells are
+ * bytes in a buffer with a dead border, stride cells per row, and
+ * [start, end) are the interior cells of the row being computed.
+ *
+ * best() picks the Vector API kernel when jdk.incubator.vector is present
+ * and it agrees with the scalar kernel on a self-check; otherwise it falls
+ * back to the scalar kernel and describe() says why.
+ */
+public abstract class DenseKernel {
+    private static final Map<Rule, DenseKernel> BEST = new ConcurrentHashMap<>();
+
+    /**
+     * Computes the row and returns its births in the high 32 bits and its
+     * deaths in the low 32 bits, so the results of several rows can simply be
+     * added together.
+     */
+    public abstract long advanceRow(byte[] cells, byte[] next, int start, int end, int stride);
+
+    public static long changes(int births, int deaths) {
+        return (long) births << 32 | deaths;
+    }
+
+    public static int births(long changes) {
+        return (int) (changes >>> 32);
+    }
+
+    public static int deaths(long changes) {
+        return (int) changes;
+    }
+
+    // Which kernel this is, for startup logs
+    public abstract String describe();
+
+    public static DenseKernel scalar(Rule rule) {
+        return new Scalar(rule, null);
+    }
+
+    public static DenseKernel best() {
+        return best(Rule.CONWAY);
+    }
+
+    public static DenseKernel best(Rule rule) {
+        return BEST.computeIfAbsent(rule, DenseKernel::select);
+    }
+
+    private static DenseKernel select(Rule rule) {
+        DenseKernel vector, scalar = scalar(rule);
+        try {
+            // loaded by name so this class still links when the incubator module is missing
+            vector = (DenseKernel) Class.forName("VectorDenseKernel").getDeclaredConstructor(Rule.class).newInstance(rule);
+        } catch (Throwable e) {
+            return new Scalar(rule, "Vector API unavailable: " + e);
+        }
+        return agrees(vector, scalar) ? vector : new Scalar(rule, "Vector API kernel failed its self-check");
+    }
+
+    // Runs both kernels on the same random rows and compares the results
+    private static boolean agrees(DenseKernel a, DenseKernel b) {
+        Random rand = new Random(1);
+        int columns = 517, stride = columns + 2;
+        byte[] cells = new byte[5 * stride], nextA = new byte[5 * stride], nextB = new byte[5 * stride];
+        for (int r = 1; r <= 3; r++)
+            for (int c = 1; c <= columns; c++)
+                cells[r * stride + c] = (byte) (rand.nextInt(3) == 0 ? 1 : 0);
+        long changesA = 0, changesB = 0;
+        for (int r = 1; r <= 3; r++) {
+            changesA += a.advanceRow(cells, nextA, r * stride + 1, r * stride + 1 + columns, stride);
+            changesB += b.advanceRow(cells, nextB, r * stride + 1, r * stride + 1 + columns, stride);
+        }
+        return Arrays.equals(nextA, nextB) && changesA == changesB;
+    }
+
+    private static final class Scalar extends DenseKernel {
+        private final byte[] transitions;
+        private final String reason;
+
+        Scalar(Rule rule, String reason) {
+            this.transitions = rule.transitionTable();
+            this.reason = reason;
+        }
+
+        public long advanceRow(byte[] c, byte[] n, int start, int end, int s) {
+            byte[] t = transitions;
+            int born = 0, died = 0;
+            for (int i = start; i < end; i++) {
+                int count = c[i - s - 1] + c[i - s] + c[i - s + 1]
+                          + c[i - 1]                + c[i + 1]
+                          + c[i + s - 1] + c[i + s] + c[i + s + 1];
+                int alive = c[i], value = t[(count << 1) | alive];
+                n[i] = (byte) value;
+                born += value & ~alive;
+                died += alive & ~value;
+            }
+            return changes(born, died);
+        }
+
+        public String describe() {
+            return reason == null ? "Scalar kernel" : "Scalar kernel (" + reason + ")";
+        }
+    }
+}
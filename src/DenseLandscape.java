@@ -0,0 +1,142 @@
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.random.RandomGenerator;
+
+/**
+ * Landscape engine that keeps one byte per cell in two preallocated buffers.
+ * Each buffer has a one-cell dead border around the board, so every interior
+ * cell has eight neighbors in the array and advance() needs no bounds checks.
+ * On a torus the border holds ghost copies of the opposite edges instead,
+ * refreshed before each generation, so the row kernels stay the same.
+ * The buffers are swapped after each generation; nothing is allocated.
+ * Each row is computed by a DenseKernel built for the landscape's rule,
+ * scalar unless one is passed in.
+ *
+ * Given a ForkJoinPool, advance() splits the rows into horizontal stripes
+ * and runs them on the pool. Stripes only read the previous generation's
+ * buffer and write disjoint rows of the next one, so the result is the same
+ * as the sequential path.
+ */
+public class DenseLandscape extends AbstractLandscape {
+    private static final int MIN_STRIPE_ROWS = 16;
+
+    private final int stride;
+    private final DenseKernel kernel;
+    private final ForkJoinPool pool;
+    private final int stripeRows;
+    private byte[] cells, next;
+
+    public DenseLandscape(int rows, int columns) {
+        this(rows, columns, 0.5);
+    }
+
+    public DenseLandscape(int rows, int columns, double chance) {
+        this(rows, columns, chance, Rule.CONWAY);
+    }
+
+    public DenseLandscape(int rows, int columns, double chance, Rule rule) {
+        this(rows, columns, chance, rule, Topology.FLAT);
+    }
+
+    public DenseLandscape(int rows, int columns, double chance, Rule rule, Topology topology) {
+        this(rows, columns, chance, rule, topology, DenseKernel.scalar(rule), null);
+    }
+
+    // kernel must have been built for the same rule
+    public DenseLandscape(int rows, int columns, double chance, Rule rule, Topology topology, DenseKernel kernel, ForkJoinPool pool) {
+        super(rows, columns, chance, rule, topology);
+        this.kernel = kernel;
+        this.pool = pool;
+        // a few stripes per worker so uneven stripes even out
+        stripeRows = pool == null ? rows : Math.max(MIN_STRIPE_ROWS, rows / (4 * pool.getParallelism()));
+        stride = columns + 2;
+        cells = new byte[(rows + 2) * stride];
+        next = new byte[(rows + 2) * stride];
+        reset();
+    }
+
+    private int index(int row, int col) {
+        return (row + 1) * stride + col + 1;
+    }
+
+    public boolean getAlive(int row, int col) {
+        return cells[index(row, col)] != 0;
+    }
+
+    public void setAlive(int row, int col, boolean alive) {
+        int i = index(row, col), value = alive ? 1 : 0;
+        population += value - cells[i];
+        cells[i] = (byte) value;
+    }
+
+    public void reset(RandomGenerator rand) {
+        Arrays.fill(cells, (byte) 0);
+        clearCounters();
+        Bernoulli bernoulli = new Bernoulli(rand, initialChance);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                if (bernoulli.next()) setAlive(i, j, true);
+            }
+        }
+    }
+
+    public void advance() {
+        byte[] c = cells, n = next;
+        if (topology == Topology.TORUS) wrapBorder(c, rows, columns);
+        long changes = pool == null || rows <= stripeRows
+            ? advanceRows(c, n, 1, rows + 1)
+            : pool.invoke(new Stripe(c, n, 1, rows + 1));
+        cells = n;
+        next = c;
+        recordGeneration(DenseKernel.births(changes), DenseKernel.deaths(changes));
+    }
+
+    /**
+     * Copies the opposite edges of a bordered rows x columns buffer into its
+     * border: the last column into column -1, the first into column columns,
+     * then the last and first padded rows (corners included) above and below.
+     */
+    static void wrapBorder(byte[] c, int rows, int columns) {
+        int stride = columns + 2;
+        for (int r = 1; r <= rows; r++) {
+            int start = r * stride;
+            c[start] = c[start + columns];
+            c[start + columns + 1] = c[start + 1];
+        }
+        System.arraycopy(c, rows * stride, c, 0, stride);
+        System.arraycopy(c, stride, c, (rows + 1) * stride, stride);
+    }
+
+    // Computes the padded rows [from, to) of the next generation and returns their summed changes
+    private long advanceRows(byte[] c, byte[] n, int from, int to) {
+        long changes = 0;
+        for (int r = from; r < to; r++) {
+            int start = r * stride + 1;
+            changes += kernel.advanceRow(c, n, start, start + columns, stride);
+        }
+        return changes;
+    }
+
+    private final class Stripe extends RecursiveTask<Long> {
+        private final byte[] c, n;
+        private final int from, to;
+
+        Stripe(byte[] c, byte[] n, int from, int to) {
+            this.c = c;
+            this.n = n;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Long compute() {
+            if (to - from <= stripeRows) return advanceRows(c, n, from, to);
+            int mid = (from + to) >>> 1;
+            Stripe top = new Stripe(c, n, from, mid);
+            top.fork();
+            long bottom = new Stripe(c, n, mid, to).compute();
+            return top.join() + bottom;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+/*
+file name:      EngineTests.java
+
+How to run:     java -ea EngineTests            (every engine)
+                java -ea EngineTests packed     (a single engine)
+*/
+
+//Note: this file is ready to run
+//Every engine is checked generation by generation against the Cell based Landscape.
+
+public class EngineTests {
+
+    private static final int STEPS = 50;
+
+    // unbounded engines are compared against a reference with room to grow on every side
+    private static int margin(LandscapeEngine engine) {
+        return engine.isBounded() ? 0 : STEPS + 1;
+    }
+
+    // a random Landscape whose rows x columns window (inside the margin) is the pattern under test
+    private static Landscape reference(LandscapeEngine engine, int rows, int columns) {
+        return reference(engine, rows, columns, Rule.CONWAY);
+    }
+
+    private static Landscape reference(LandscapeEngine engine, int rows, int columns, Rule rule) {
+        int margin = margin(engine);
+        Landscape reference = new Landscape(rows + 2 * margin, columns + 2 * margin, 0., rule);
+        Landscape pattern = new Landscape(rows, columns, 0.4);
+        for (int i = 0; i < rows; i++)
+            for (int j = 0; j < columns; j++)
+                reference.setAlive(i + margin, j + margin, pattern.getAlive(i, j));
+        return reference;
+    }
+
+    // copies the window of the reference into the landscape under test
+    private static void copy(Landscape reference, AbstractLandscape to, int margin) {
+        for (int i = 0; i < to.getRows(); i++)
+            for (int j = 0; j < to.getCols(); j++)
+                to.setAlive(i, j, reference.getAlive(i + margin, j + margin));
+    }
+
+    // compares the whole reference, reading outside the window of an unbounded landscape
+    private static boolean matches(Landscape reference, AbstractLandscape l, int margin) {
+        for (int i = 0; i < reference.getRows(); i++)
+            for (int j = 0; j < reference.getCols(); j++)
+                if (reference.getAlive(i, j) != l.getAlive(i - margin, j - margin)) return false;
+        return true;
+    }
+
+    private static boolean[][] snapshot(Landscape reference) {
+        boolean[][] cells = new boolean[reference.getRows()][reference.getCols()];
+        for (int i = 0; i < cells.length; i++)
+            for (int j = 0; j < cells[i].length; j++)
+                cells[i][j] = reference.getAlive(i, j);
+        return cells;
+    }
+
+    // births and deaths between a snapshot and the reference now, counted cell by cell
+    private static int[] changes(boolean[][] before, Landscape reference) {
+        int births = 0, deaths = 0;
+        for (int i = 0; i < before.length; i++) {
+            for (int j = 0; j < before[i].length; j++) {
+                if (reference.getAlive(i, j) && !before[i][j]) births++;
+                if (!reference.getAlive(i, j) && before[i][j]) deaths++;
+            }
+        }
+        return new int[]{ births, deaths };
+    }
+
+    public static void engineTests(LandscapeEngine engine) {
+
+        // case 1: testing advance() against the Cell based Landscape
+        {
+            // set up
+            int[][] sizes = { {1, 1}, {3, 7}, {17, 64}, {20, 65}, {33, 130} };
+            for (int[] size : sizes) {
+                Landscape reference = reference(engine, size[0], size[1]);
+                AbstractLandscape l1 = engine.create(size[0], size[1], 0.);
+                copy(reference, l1, margin(engine));
+
+                // test
+                for (int step = 0; step < STEPS; step++) {
+                    boolean[][] before = snapshot(reference);
+                    reference.advance();
+                    l1.advance();
+                    int[] changes = changes(before, reference);
+                    assert matches(reference, l1, margin(engine)) : "Error in " + engine + "::advance() on " + size[0] + "x" + size[1];
+                    assert l1.countLivingCells() == reference.countLivingCells() : "Error in " + engine + "::countLivingCells()";
+                    assert l1.getBirths() == changes[0] : "Error in " + engine + "::getBirths()";
+                    assert l1.getDeaths() == changes[1] : "Error in " + engine + "::getDeaths()";
+                    assert reference.getBirths() == changes[0] && reference.getDeaths() == changes[1] : "Error in Landscape::getBirths()";
+                }
+            }
+            System.out.println( "advance() matches the Cell based Landscape" );
+        }
+
+        // case 2: testing getCell() writes through
+        {
+            // set up
+            AbstractLandscape l1 = engine.create(4, 70, 0.);
+            l1.getCell( 2 , 69 ).setAlive( true );
+
+            // verify
+            System.out.println( l1.getAlive( 2 , 69 ) + " == true" );
+            System.out.println( l1.countLivingCells() + " == 1" );
+
+            // test
+            assert l1.getAlive( 2 , 69 ) : "Error in " + engine + "::getCell()";
+            assert l1.countLivingCells() == 1 : "Error in " + engine + "::getCell()";
+
+            // setting a cell to the state it already has leaves the count alone
+            l1.setAlive( 2, 69, true );
+            l1.setAlive( 0, 0, false );
+            l1.getCell( 3, 0 ).setAlive( true );
+            l1.getCell( 3, 0 ).setAlive( false );
+            System.out.println( l1.countLivingCells() + " == 1" );
+            assert l1.countLivingCells() == 1 : "Error in " + engine + "::setAlive()";
+        }
+
+        // case 3: testing advance(long) against single steps
+        {
+            // set up
+            Landscape reference = reference(engine, 20, 30);
+            AbstractLandscape l1 = engine.create(20, 30, 0.);
+            copy(reference, l1, margin(engine));
+
+            // test
+            l1.advance(STEPS - 13);
+            for (int step = 0; step < STEPS - 14; step++)
+                reference.advance();
+            boolean[][] before = snapshot(reference);
+            reference.advance();
+            int[] changes = changes(before, reference);
+            System.out.println( l1.countLivingCells() + " == " + reference.countLivingCells() );
+            assert matches(reference, l1, margin(engine)) : "Error in " + engine + "::advance(long)";
+            assert l1.countLivingCells() == reference.countLivingCells() : "Error in " + engine + "::advance(long)";
+            assert l1.getBirths() == changes[0] && l1.getDeaths() == changes[1] : "Error in " + engine + "::getBirths() after advance(long)";
+        }
+
+        // case 4: testing rules other than B3/S23 against the Cell based Landscape
+        {
+            // set up
+            String[] rules = { "B36/S23", "B3678/S34678", "B2/S", "B1357/S1357", "B3/S023", "B0123/S01234" };
+            for (String s : rules) {
+                Rule rule = Rule.parse(s);
+                if (!engine.supports(rule)) continue;
+                Landscape reference = reference(engine, 21, 67, rule);
+                AbstractLandscape l1 = engine.create(21, 67, 0., rule);
+                copy(reference, l1, margin(engine));
+
+                // test
+                assert l1.getRule().equals(rule) : "Error in " + engine + "::getRule()";
+                for (int step = 0; step < STEPS - 7; step++) {
+                    reference.advance();
+                    l1.advance();
+                    assert matches(reference, l1, margin(engine)) : "Error in " + engine + "::advance() under " + rule;
+                }
+                l1.advance(7);
+                for (int step = 0; step < 7; step++)
+                    reference.advance();
+                assert matches(reference, l1, margin(engine)) : "Error in " + engine + "::advance(long) under " + rule;
+            }
+            System.out.println( "advance() matches the Cell based Landscape under other rules" );
+        }
+
+        // case 5: testing the torus against the Cell based Landscape
+        if (engine.supports(Topology.TORUS)) {
+            // set up
+            int[][] sizes = { {1, 1}, {2, 3}, {3, 64}, {5, 65}, {130, 33} };
+            Rule[] rules = { Rule.CONWAY, Rule.parse("B36/S23"), Rule.parse("B0123/S01234") };
+            for (int[] size : sizes) {
+                for (Rule rule : rules) {
+                    Landscape reference = new Landscape(size[0], size[1], 0.4, rule, Topology.TORUS);
+                    AbstractLandscape l1 = engine.create(size[0], size[1], 0., rule, Topology.TORUS);
+                    copy(reference, l1, 0);
+
+                    // test
+                    assert l1.getTopology() == Topology.TORUS : "Error in " + engine + "::getTopology()";
+                    for (int step = 0; step < 20; step++) {
+                        reference.advance();
+                        l1.advance();
+                        assert matches(reference, l1, 0) : "Error in " + engine + "::advance() on a " + size[0] + "x" + size[1] + " torus under " + rule;
+                        assert l1.countLivingCells() == reference.countLivingCells() : "Error in " + engine + "::countLivingCells() on a torus";
+                        assert l1.getBirths() == reference.getBirths() && l1.getDeaths() == reference.getDeaths() : "Error in " + engine + "::getBirths() on a torus";
+                    }
+                    l1.advance(9);
+                    for (int step = 0; step < 9; step++)
+                        reference.advance();
+                    assert matches(reference, l1, 0) : "Error in " + engine + "::advance(long) on a " + size[0] + "x" + size[1] + " torus under " + rule;
+                }
+            }
+
+            // a glider on an 8x8 torus is back where it started after 32 generations
+            AbstractLandscape l2 = engine.create(8, 8, 0., Rule.CONWAY, Topology.TORUS);
+            int[][] glider = { {0, 1}, {1, 2}, {2, 0}, {2, 1}, {2, 2} };
+            for (int[] cell : glider)
+                l2.setAlive(cell[0], cell[1], true);
+            String start = l2.toString();
+            l2.advance(32);
+            System.out.println( l2.countLivingCells() + " == 5" );
+            assert l2.toString().equals(start) : "Error in " + engine + "::advance() across the torus edges";
+            System.out.println( "advance() matches the Cell based Landscape on a torus" );
+        }
+
+        // case 6: testing reset() with the same stream draws the same board
+        {
+            // set up
+            AbstractLandscape l1 = engine.create(13, 21, 0.4);
+            AbstractLandscape l2 = engine.create(13, 21, 0.4);
+            l1.reset(Seeds.replicate(42, 13, 21, 0.4, 3));
+            l2.reset(Seeds.replicate(42, 13, 21, 0.4, 3));
+            String first = l1.toString();
+            l1.reset(Seeds.replicate(42, 13, 21, 0.4, 4));
+
+            // test
+            assert first.equals(l2.toString()) : "Error in " + engine + "::reset(RandomGenerator)";
+            assert l2.countLivingCells() > 0 : "Error in " + engine + "::reset(RandomGenerator) population";
+            assert !first.equals(l1.toString()) : "Error in " + engine + "::reset(RandomGenerator) with another replicate";
+        }
+
+        // case 7: testing a HashLife node table too small for one jump gives the same plane
+        if (engine == LandscapeEngine.HASHLIFE) {
+            // set up
+            HashLifeLandscape l1 = new HashLifeLandscape(40, 40, 0.4, 1 << 21);
+            HashLifeLandscape l2 = new HashLifeLandscape(40, 40, 0.4, 300);
+            l1.reset(Seeds.replicate(7, 40, 40, 0.4, 0));
+            l2.reset(Seeds.replicate(7, 40, 40, 0.4, 0));
+
+            // test
+            for (long generations : new long[]{ 1, 37, 256, 1000 }) {
+                l1.advance(generations);
+                l2.advance(generations);
+                boolean same = l1.getPopulation() == l2.getPopulation()
+                    && l1.getBirths() == l2.getBirths() && l1.getDeaths() == l2.getDeaths();
+                for (int i = -100; i < 140 && same; i++)
+                    for (int j = -100; j < 140 && same; j++)
+                        same = l1.getAlive(i, j) == l2.getAlive(i, j);
+                System.out.println( l2.getPopulation() + " == " + l1.getPopulation() );
+                assert same : "Error in " + engine + "::advance(long) with a small node table";
+            }
+        }
+    }
+
+
+    public static void main(String[] args) {
+        LandscapeEngine[] engines = args.length > 0
+            ? new LandscapeEngine[]{ LandscapeEngine.parse(args[0]) }
+            : LandscapeEngine.values();
+
+        for (LandscapeEngine engine : engines) {
+            System.out.println("=== " + engine + " ===");
+            engineTests(engine);
+        }
+    }
+}
@@ -0,0 +1,402 @@
+import java.util.ArrayList;
+import java.util.random.RandomGenerator;
+
+/**
+ * HashLife engine. The plane is a quadtree of canonical nodes: two nodes with
+ * the same children are the same object, so repeated regions are stored once
+ * and the result of advancing a node is memoized on the node itself.
+ *
+ * Unlike Landscape the plane has no edges; rows x columns is only the window
+ * that reset() fills and getCell()/toString() show. advance(long) jumps
+ * ahead by splitting the count into powers of two and stepping 2^k
+ * generations at a time.
+ *
+ * The node table is limited to maxNodes. A jump that would create a node
+ * past that gives up, throws away every node not reachable from the current
+ * root along with all memoized results, and starts over. If it overflows
+ * the collected table too, it is split into two jumps of half the length;
+ * a single generation runs to the end whatever it needs. After collecting,
+ * the table is sized for the nodes that are left.
+ *
+ * Rules where cells are born with no neighbors (B0) would fill the whole
+ * plane, so they are rejected.
+ */
+public class HashLifeLandscape extends AbstractLandscape {
+    public static final int DEFAULT_MAX_NODES = 1 << 21;
+
+    private static final class Node {
+        final Node nw, ne, sw, se;
+        final int level, hash;
+        final long population;
+        Node chain; // next node in the same table bucket
+        Node fast; // center advanced 2^(level - 2) generations
+        Node slow; // center advanced 2^slowLog generations
+        int slowLog = -1;
+
+        Node(boolean alive) {
+            nw = ne = sw = se = null;
+            level = 0;
+            population = alive ? 1 : 0;
+            hash = alive ? 1 : 0;
+        }
+
+        Node(Node nw, Node ne, Node sw, Node se) {
+            this.nw = nw;
+            this.ne = ne;
+            this.sw = sw;
+            this.se = se;
+            level = nw.level + 1;
+            population = nw.population + ne.population + sw.population + se.population;
+            hash = hash(nw, ne, sw, se);
+        }
+
+        static int hash(Node nw, Node ne, Node sw, Node se) {
+            int h = nw.hash;
+            h = h * 1000003 + ne.hash;
+            h = h * 1000003 + sw.hash;
+            h = h * 1000003 + se.hash;
+            return h ^ (h >>> 16);
+        }
+    }
+
+    // thrown by node() past maxNodes while a jump is capped; carries no stack trace
+    private static final class TableFull extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        TableFull() {
+            super(null, null, false, false);
+        }
+    }
+
+    private final int maxNodes;
+    private final Node deadLeaf = new Node(false), liveLeaf = new Node(true);
+    private final ArrayList<Node> emptyNodes = new ArrayList<>();
+    private Node[] table;
+    private int nodeCount;
+    private boolean capped; // whether node() may refuse to create a node
+    private Node root;
+    private long originRow, originCol; // plane coordinates of the root's top-left cell
+
+    public HashLifeLandscape(int rows, int columns) {
+        this(rows, columns, 0.5);
+    }
+
+    public HashLifeLandscape(int rows, int columns, double chance) {
+        this(rows, columns, chance, DEFAULT_MAX_NODES);
+    }
+
+    public HashLifeLandscape(int rows, int columns, double chance, int maxNodes) {
+        this(rows, columns, chance, Rule.CONWAY, maxNodes);
+    }
+
+    public HashLifeLandscape(int rows, int columns, double chance, Rule rule) {
+        this(rows, columns, chance, rule, DEFAULT_MAX_NODES);
+    }
+
+    public HashLifeLandscape(int rows, int columns, double chance, Rule rule, int maxNodes) {
+        super(rows, columns, chance, rule);
+        if (rule.birthOnZero())
+            throw new IllegalArgumentException("HashLife cannot run B0 rules: " + rule);
+        this.maxNodes = maxNodes;
+        reset();
+    }
+
+    public boolean getAlive(int row, int col) {
+        long r = row - originRow, c = col - originCol, size = 1L << root.level;
+        if (r < 0 || r >= size || c < 0 || c >= size) return false;
+        Node n = root;
+        while (n.level > 0) {
+            if (n.population == 0) return false;
+            long half = 1L << (n.level - 1);
+            if (r < half) n = c < half ? n.nw : n.ne;
+            else n = c < half ? n.sw : n.se;
+            r &= half - 1;
+            c &= half - 1;
+        }
+        return n == liveLeaf;
+    }
+
+    public void setAlive(int row, int col, boolean alive) {
+        while (row < originRow || col < originCol
+                || row - originRow >= 1L << root.level || col - originCol >= 1L << root.level)
+            expandRoot();
+        root = set(root, row - originRow, col - originCol, alive);
+    }
+
+    private Node set(Node n, long r, long c, boolean alive) {
+        if (n.level == 0) return alive ? liveLeaf : deadLeaf;
+        long half = 1L << (n.level - 1);
+        long rr = r & (half - 1), cc = c & (half - 1);
+        if (r < half) {
+            return c < half ? node(set(n.nw, rr, cc, alive), n.ne, n.sw, n.se)
+                            : node(n.nw, set(n.ne, rr, cc, alive), n.sw, n.se);
+        }
+        return c < half ? node(n.nw, n.ne, set(n.sw, rr, cc, alive), n.se)
+                        : node(n.nw, n.ne, n.sw, set(n.se, rr, cc, alive));
+    }
+
+    // Population of the whole plane, capped at Integer.MAX_VALUE
+    public int countLivingCells() {
+        return (int) Math.min(root.population, Integer.MAX_VALUE);
+    }
+
+    public long getPopulation() {
+        return root.population;
+    }
+
+    public void reset(RandomGenerator rand) {
+        clearCounters();
+        table = new Node[1 << 10];
+        nodeCount = 0;
+        emptyNodes.clear();
+        originRow = 0;
+        originCol = 0;
+        int level = 3;
+        while ((1L << level) < Math.max(rows, columns)) level++;
+        root = build(level, 0, 0, new Bernoulli(rand, initialChance));
+    }
+
+    // Fills the rows x columns window at the initial chance, leaving the rest of the node empty
+    private Node build(int level, long r0, long c0, Bernoulli bernoulli) {
+        if (r0 >= rows || c0 >= columns) return empty(level);
+        if (level == 0) return bernoulli.next() ? liveLeaf : deadLeaf;
+        long half = 1L << (level - 1);
+        return node(build(level - 1, r0, c0, bernoulli), build(level - 1, r0, c0 + half, bernoulli),
+                    build(level - 1, r0 + half, c0, bernoulli), build(level - 1, r0 + half, c0 + half, bernoulli));
+    }
+
+    public void advance() {
+        advance(1);
+    }
+
+    // Jumps all but the last generation, then steps that one alone so births and deaths describe it
+    public void advance(long generations) {
+        if (generations < 0)
+            throw new IllegalArgumentException("generations must not be negative: " + generations);
+        if (generations == 0) return;
+        generations--;
+        for (int log = 0; generations != 0; log++, generations >>>= 1) {
+            if ((generations & 1) == 0) continue;
+            if (nodeCount > maxNodes) collectGarbage();
+            step(log);
+        }
+        if (nodeCount > maxNodes) collectGarbage();
+        Node before = step(0);
+        long common = common(before, root);
+        births = (int) Math.min(root.population - common, Integer.MAX_VALUE);
+        deaths = (int) Math.min(before.population - common, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Advances the plane by 2^log generations and returns the old plane over
+     * the same square as the new root. Only step(0) is asked for the old
+     * plane, and it is never split.
+     */
+    private Node step(int log) {
+        // the pattern must sit in the center quarter, with room to grow 2^log cells each way;
+        // a root that already does is left alone, so a retried or split jump does not grow it again
+        while (root.level < log + 3 || root.population != innerPopulation(root))
+            expandRoot();
+        long shift = 1L << (root.level - 2);
+        Node before = center(root);
+        for (boolean collected = false; ; collected = true) {
+            capped = !collected || log > 0;
+            Node next;
+            try {
+                next = successor(root, log);
+            } catch (TableFull e) {
+                capped = false;
+                collectGarbage(before);
+                if (!collected) continue;
+                // too big for the whole table: two half jumps need fewer nodes at a time
+                step(log - 1);
+                return step(log - 1);
+            }
+            capped = false;
+            root = next;
+            originRow += shift;
+            originCol += shift;
+            return before;
+        }
+    }
+
+    // Cells alive in both nodes, which cover the same square; shared sub-nodes are not walked
+    private static long common(Node a, Node b) {
+        if (a == b) return a.population;
+        if (a.population == 0 || b.population == 0 || a.level == 0) return 0;
+        return common(a.nw, b.nw) + common(a.ne, b.ne) + common(a.sw, b.sw) + common(a.se, b.se);
+    }
+
+    // Population of the center quarter, the four great-grandchildren around the middle
+    private static long innerPopulation(Node n) {
+        return n.nw.se.se.population + n.ne.sw.sw.population + n.sw.ne.ne.population + n.se.nw.nw.population;
+    }
+
+    // Doubles the root, keeping the old root in the middle
+    private void expandRoot() {
+        Node e = empty(root.level - 1);
+        long shift = 1L << (root.level - 1);
+        root = node(node(e, e, e, root.nw), node(e, e, root.ne, e),
+                    node(e, root.sw, e, e), node(root.se, e, e, e));
+        originRow -= shift;
+        originCol -= shift;
+    }
+
+    /**
+     * Returns the center of n (one level down) advanced 2^log generations,
+     * where log is at most n.level - 2.
+     */
+    private Node successor(Node n, int log) {
+        if (n.population == 0) return empty(n.level - 1);
+        boolean fullSpeed = log == n.level - 2;
+        if (fullSpeed && n.fast != null) return n.fast;
+        if (!fullSpeed && n.slowLog == log) return n.slow;
+
+        Node result;
+        if (n.level == 2) {
+            result = baseCase(n);
+        } else {
+            Node n00 = n.nw, n02 = n.ne, n20 = n.sw, n22 = n.se;
+            Node n01 = node(n.nw.ne, n.ne.nw, n.nw.se, n.ne.sw);
+            Node n10 = node(n.nw.sw, n.nw.se, n.sw.nw, n.sw.ne);
+            Node n11 = node(n.nw.se, n.ne.sw, n.sw.ne, n.se.nw);
+            Node n12 = node(n.ne.sw, n.ne.se, n.se.nw, n.se.ne);
+            Node n21 = node(n.sw.ne, n.se.nw, n.sw.se, n.se.sw);
+            if (fullSpeed) {
+                // two half steps: each of the nine sub-nodes, then the four overlaps
+                int half = n.level - 3;
+                Node r00 = successor(n00, half), r01 = successor(n01, half), r02 = successor(n02, half);
+                Node r10 = successor(n10, half), r11 = successor(n11, half), r12 = successor(n12, half);
+                Node r20 = successor(n20, half), r21 = successor(n21, half), r22 = successor(n22, half);
+                result = node(successor(node(r00, r01, r10, r11), half), successor(node(r01, r02, r11, r12), half),
+                              successor(node(r10, r11, r20, r21), half), successor(node(r11, r12, r21, r22), half));
+            } else {
+                // a shorter step: advance the four overlaps built from the sub-node centers
+                Node c00 = center(n00), c01 = center(n01), c02 = center(n02);
+                Node c10 = center(n10), c11 = center(n11), c12 = center(n12);
+                Node c20 = center(n20), c21 = center(n21), c22 = center(n22);
+                result = node(successor(node(c00, c01, c10, c11), log), successor(node(c01, c02, c11, c12), log),
+                              successor(node(c10, c11, c20, c21), log), successor(node(c11, c12, c21, c22), log));
+            }
+        }
+
+        if (fullSpeed) {
+            n.fast = result;
+        } else {
+            n.slow = result;
+            n.slowLog = log;
+        }
+        return result;
+    }
+
+    private Node center(Node n) {
+        return node(n.nw.se, n.ne.sw, n.sw.ne, n.se.nw);
+    }
+
+    // One generation of the inner 2x2 of a 4x4 node
+    private Node baseCase(Node n) {
+        int bits = 0; // bit (r * 4 + c) holds cell (r, c)
+        bits |= quadrantBits(n.nw, 0);
+        bits |= quadrantBits(n.ne, 2);
+        bits |= quadrantBits(n.sw, 8);
+        bits |= quadrantBits(n.se, 10);
+        return node(nextCell(bits, 1, 1), nextCell(bits, 1, 2), nextCell(bits, 2, 1), nextCell(bits, 2, 2));
+    }
+
+    private static int quadrantBits(Node n, int shift) {
+        return (int) (n.nw.population | n.ne.population << 1 | n.sw.population << 4 | n.se.population << 5) << shift;
+    }
+
+    private Node nextCell(int bits, int r, int c) {
+        int count = 0;
+        for (int i = r - 1; i <= r + 1; i++)
+            for (int j = c - 1; j <= c + 1; j++)
+                if (i != r || j != c) count += (bits >>> (i * 4 + j)) & 1;
+        boolean alive = ((bits >>> (r * 4 + c)) & 1) != 0;
+        return rule.next(alive, count) ? liveLeaf : deadLeaf;
+    }
+
+    private Node empty(int level) {
+        if (level == 0) return deadLeaf;
+        while (emptyNodes.size() < level) {
+            Node e = emptyNodes.isEmpty() ? deadLeaf : emptyNodes.get(emptyNodes.size() - 1);
+            emptyNodes.add(node(e, e, e, e));
+        }
+        return emptyNodes.get(level - 1);
+    }
+
+    // Returns the canonical node with these children, creating it if needed
+    private Node node(Node nw, Node ne, Node sw, Node se) {
+        int h = Node.hash(nw, ne, sw, se);
+        int bucket = h & (table.length - 1);
+        for (Node n = table[bucket]; n != null; n = n.chain) {
+            if (n.nw == nw && n.ne == ne && n.sw == sw && n.se == se) return n;
+        }
+        if (capped && nodeCount >= maxNodes) throw new TableFull();
+        Node n = new Node(nw, ne, sw, se);
+        insert(n);
+        return n;
+    }
+
+    private void insert(Node n) {
+        if (nodeCount >= table.length - (table.length >>> 2)) resize();
+        int bucket = n.hash & (table.length - 1);
+        n.chain = table[bucket];
+        table[bucket] = n;
+        nodeCount++;
+    }
+
+    private void resize() {
+        Node[] old = table;
+        table = new Node[old.length << 1];
+        for (Node head : old) {
+            for (Node n = head; n != null; ) {
+                Node next = n.chain;
+                int bucket = n.hash & (table.length - 1);
+                n.chain = table[bucket];
+                table[bucket] = n;
+                n = next;
+            }
+        }
+    }
+
+    /**
+     * Drops every node neither the root nor keepAlso uses, together with all
+     * memoized results, and rebuilds the table at the size the rest need.
+     */
+    private void collectGarbage(Node... keepAlso) {
+        Node[] old = table;
+        for (Node head : old) {
+            for (Node n = head; n != null; ) {
+                Node next = n.chain;
+                n.chain = null;
+                n.fast = null;
+                n.slow = null;
+                n.slowLog = -1;
+                n = next;
+            }
+        }
+        // start small; insert() doubles the table as the kept nodes fill it
+        table = new Node[1 << 10];
+        nodeCount = 0;
+        for (Node e : emptyNodes) keep(e);
+        keep(root);
+        for (Node n : keepAlso) keep(n);
+    }
+
+    private void keep(Node n) {
+        if (n.level == 0 || contains(n)) return;
+        insert(n);
+        keep(n.nw);
+        keep(n.ne);
+        keep(n.sw);
+        keep(n.se);
+    }
+
+    private boolean contains(Node n) {
+        for (Node x = table[n.hash & (table.length - 1)]; x != null; x = x.chain) {
+            if (x == n) return true;
+        }
+        return false;
+    }
+}
@@ -12,19 +12,22 @@ import java.io.File;
 import java.io.IOException;
 
 public class LandscapeDisplay extends Application {
-    private Landscape scape;
+    private static LandscapeEngine engine = LandscapeEngine.CELL;
+    private static Rule rule = Rule.CONWAY;
+    private static Topology topology = Topology.FLAT;
+    private AbstractLandscape scape;
     private Canvas canvas;
     private int gridScale;
 
     @Override
     public void start(Stage primaryStage) {
-        scape = new Landscape(100, 100, 0.25);
+        scape = engine.create(100, 100, 0.25, rule, topology);
         gridScale = 6;
         
         canvas = new Canvas(scape.getCols() * gridScale, scape.getRows() * gridScale);
         
         Scene scene = new Scene(new BorderPane(canvas), canvas.getWidth(), canvas.getHeight());
-        primaryStage.setTitle("Game of Life");
+        primaryStage.setTitle("Game of Life - " + rule + ", " + topology.label());
         primaryStage.setScene(scene);
         primaryStage.show();
 
@@ -39,7 +42,7 @@ public class LandscapeDisplay extends Application {
 
     private void render() {
         GraphicsContext gc = canvas.getGraphicsContext2D();
-        scape.draw(gc, gridScale);
+        LandscapePainter.draw(scape, gc, gridScale);
     }
 
     public void saveImage(String filename) {
@@ -56,6 +59,18 @@ public class LandscapeDisplay extends Application {
     }
 
     public static void main(String[] args) {
+        if (args.length >= 1)
+            engine = LandscapeEngine.parse(args[0]);
+        if (args.length >= 2)
+            rule = Rule.parse(args[1]);
+        if (args.length >= 3)
+            topology = Topology.parse(args[2]);
+        if (!engine.supports(rule))
+            throw new IllegalArgumentException(engine + " cannot run " + rule);
+        if (!engine.supports(topology))
+            throw new IllegalArgumentException(engine + " cannot run on a " + topology.label());
+        if (engine == LandscapeEngine.VECTOR)
+            System.out.println(DenseKernel.best(rule).describe());
         launch(args);
     }
 }
\ No newline at end of file
@@ -0,0 +1,120 @@
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * The available Landscape implementations. Every engine produces the same
+ * generations under the same Rule; they only differ in how cells are stored
+ * and advanced.
+ */
+public enum LandscapeEngine {
+    // One Cell object per cell, the original implementation
+    CELL {
+        public AbstractLandscape create(int rows, int columns, double chance, Rule rule, Topology topology) {
+            return new Landscape(rows, columns, chance, rule, topology);
+        }
+    },
+    // 64 cells per long, advanced with bitwise full adders
+    PACKED {
+        public AbstractLandscape create(int rows, int columns, double chance, Rule rule, Topology topology) {
+            return new PackedLandscape(rows, columns, chance, rule, topology);
+        }
+    },
+    // Bit-packed rows, 2x2 cells per lookup in a 64K rule table
+    TABLE {
+        public AbstractLandscape create(int rows, int columns, double chance, Rule rule, Topology topology) {
+            return new TableLandscape(rows, columns, chance, rule, topology);
+        }
+    },
+    // One byte per cell in two swapped buffers with a dead border
+    DENSE {
+        public AbstractLandscape create(int rows, int columns, double chance, Rule rule, Topology topology) {
+            return new DenseLandscape(rows, columns, chance, rule, topology);
+        }
+    },
+    // DENSE with the Vector API row kernel when it is available
+    VECTOR {
+        public AbstractLandscape create(int rows, int columns, double chance, Rule rule, Topology topology) {
+            return new DenseLandscape(rows, columns, chance, rule, topology, DenseKernel.best(rule), null);
+        }
+    },
+    // VECTOR split into stripes on the common ForkJoinPool
+    PARALLEL {
+        public AbstractLandscape create(int rows, int columns, double chance, Rule rule, Topology topology) {
+            return new DenseLandscape(rows, columns, chance, rule, topology, DenseKernel.best(rule), ForkJoinPool.commonPool());
+        }
+    },
+    // Dense buffers split into tiles; settled tiles are skipped
+    TILED {
+        public AbstractLandscape create(int rows, int columns, double chance, Rule rule, Topology topology) {
+            return new TiledLandscape(rows, columns, chance, rule, topology);
+        }
+    },
+    // Cache-sized tiles advanced several generations per pass by advance(long)
+    TEMPORAL {
+        public AbstractLandscape create(int rows, int columns, double chance, Rule rule, Topology topology) {
+            return new TemporalLandscape(rows, columns, chance, rule, topology, TemporalLandscape.DEFAULT_DEPTH);
+        }
+    },
+    // PACKED on off-heap memory segments, for boards larger than the heap
+    OFFHEAP {
+        public AbstractLandscape create(int rows, int columns, double chance, Rule rule, Topology topology) {
+            return new OffHeapLandscape(rows, columns, chance, rule, topology);
+        }
+    },
+    // Memoized quadtree on an unbounded plane; rows x columns is the initial window
+    HASHLIFE {
+        public AbstractLandscape create(int rows, int columns, double chance, Rule rule, Topology topology) {
+            requireFlat(topology);
+            return new HashLifeLandscape(rows, columns, chance, rule);
+        }
+
+        public boolean isBounded() {
+            return false;
+        }
+    },
+    // Hash set of live cells on an unbounded plane
+    SPARSE {
+        public AbstractLandscape create(int rows, int columns, double chance, Rule rule, Topology topology) {
+            requireFlat(topology);
+            return new SparseLandscape(rows, columns, chance, rule);
+        }
+
+        public boolean isBounded() {
+            return false;
+        }
+    };
+
+    public abstract AbstractLandscape create(int rows, int columns, double chance, Rule rule, Topology topology);
+
+    public AbstractLandscape create(int rows, int columns, double chance, Rule rule) {
+        return create(rows, columns, chance, rule, Topology.FLAT);
+    }
+
+    public AbstractLandscape create(int rows, int columns, double chance) {
+        return create(rows, columns, chance, Rule.CONWAY);
+    }
+
+    // Whether cells outside rows x columns are always dead, as in Landscape
+    public boolean isBounded() {
+        return true;
+    }
+
+    // Whether this engine can run the rule; unbounded engines cannot hold B0 rules
+    public boolean supports(Rule rule) {
+        return isBounded() || !rule.birthOnZero();
+    }
+
+    // Whether this engine can run the topology; an unbounded plane has no edges to wrap
+    public boolean supports(Topology topology) {
+        return isBounded() || topology == Topology.FLAT;
+    }
+
+    void requireFlat(Topology topology) {
+        if (!supports(topology))
+            throw new IllegalArgumentException(this + " cannot run on a " + topology.label());
+    }
+
+    // Accepts engine names case-insensitively, e.g. "packed"
+    public static LandscapeEngine parse(String name) {
+        return valueOf(name.trim().toUpperCase());
+    }
+}
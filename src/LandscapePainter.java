@@ -0,0 +1,30 @@
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+
+/**
+ * Draws any landscape on a JavaFX canvas. Kept apart from AbstractLandscape
+ * so the engines, and everything headless built on them, load without the
+ * JavaFX toolkit.
+ */
+public final class LandscapePainter {
+    private LandscapePainter() {
+    }
+
+    public static void draw(AbstractLandscape landscape, GraphicsContext g, int scale) {
+        int rows = landscape.getRows(), columns = landscape.getCols();
+        // Clear the background with white color
+        g.setFill(Color.WHITE);
+        g.fillRect(0, 0, columns * scale, rows * scale);
+
+        // Draw living cells in black
+        g.setFill(Color.BLACK);
+        for (int x = 0; x < rows; x++) {
+            for (int y = 0; y < columns; y++) {
+                if (landscape.getAlive(x, y)) {
+                    // Ensure correct scaling and positioning of cells
+                    g.fillOval(y * scale, x * scale, scale, scale);
+                }
+            }
+        }
+    }
+}
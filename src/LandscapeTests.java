@@ -3,7 +3,8 @@ file name:      LandscapeTests.java
 Authors:        Max Bender & Naser Al Madi & Ike Lage
 last modified:  02/25/2025
 
-How to run:     java -ea LandscapeTests
+How to run:     java -ea LandscapeTests            (every engine)
+                java -ea LandscapeTests packed     (a single engine)
 */
 
 //Note: to get this test code to run, fill in the TODOs with the correct values!
@@ -12,14 +13,23 @@ How to run:     java -ea LandscapeTests
 import java.util.ArrayList;
 
 public class LandscapeTests {
+    private static LandscapeEngine engine = LandscapeEngine.CELL;
+
+    private static AbstractLandscape create(int rows, int columns) {
+        return create(rows, columns, 0.5);
+    }
+
+    private static AbstractLandscape create(int rows, int columns, double chance) {
+        return engine.create(rows, columns, chance);
+    }
 
     public static void landscapeTests() {
 
         // case 1: testing Landscape(int, int)
         {
             // set up
-            Landscape l1 = new Landscape(2, 4, 0.9);
-            Landscape l2 = new Landscape(10, 10, 0.9);
+            AbstractLandscape l1 = create(2, 4, 0.9);
+            AbstractLandscape l2 = create(10, 10, 0.9);
 
             // verify
             System.out.println(l1);
@@ -34,8 +44,8 @@ public class LandscapeTests {
         // case 2: testing getRows()
         {
             // set up
-            Landscape l1 = new Landscape(2, 4);
-            Landscape l2 = new Landscape(10, 10);
+            AbstractLandscape l1 = create(2, 4);
+            AbstractLandscape l2 = create(10, 10);
 
             // verify
             System.out.println( l1.getRows() + " == 2" );
@@ -50,8 +60,8 @@ public class LandscapeTests {
         // case 3: testing getCols()
         {
             // set up
-            Landscape l1 = new Landscape(2, 4);
-            Landscape l2 = new Landscape(10, 10);
+            AbstractLandscape l1 = create(2, 4);
+            AbstractLandscape l2 = create(10, 10);
 
             // verify
             System.out.println( l1.getCols() + " == 4" );
@@ -65,7 +75,7 @@ public class LandscapeTests {
         // case 4: testing getCell(int, int)
         {
             // set up
-            Landscape l1 = new Landscape(2, 4, 1);
+            AbstractLandscape l1 = create(2, 4, 1);
 
             // verify
             System.out.println( l1.getCell( 0 , 0 ) + " == TODO" );
@@ -80,7 +90,7 @@ public class LandscapeTests {
         // case 5: testing reset()
         {
             // set up
-            Landscape l1 = new Landscape(2, 2, 0.);
+            AbstractLandscape l1 = create(2, 2, 0.);
             l1.getCell( 0 , 0 ).setAlive( true );
             l1.getCell( 1 , 1 ).setAlive( true );
 
@@ -116,7 +126,7 @@ public class LandscapeTests {
         {
            
             // set up
-            Landscape l1 = new Landscape(3, 3);
+            AbstractLandscape l1 = create(3, 3);
 
             // verify
             ArrayList<Cell> n1 = l1.getNeighbors(0, 0);
@@ -134,7 +144,7 @@ public class LandscapeTests {
         // case 7: testing advance()
         {
             // set up
-            Landscape l1 = new Landscape(3, 3, 0.);
+            AbstractLandscape l1 = create(3, 3, 0.);
 
             l1.getCell( 0 , 0 ).setAlive( true );
             l1.getCell( 0 , 2 ).setAlive( true );
@@ -149,22 +159,22 @@ public class LandscapeTests {
             l1.advance() ;
             System.out.println( l1 );
 
-            System.out.println( l1.getCell( 0 , 0 ).getAlive() + " == true" ) ;
-            System.out.println( l1.getCell( 0 , 1 ).getAlive() + " == false" ) ;
-            System.out.println( l1.getCell( 0 , 2 ).getAlive() + " == true" ) ;
+            System.out.println( l1.getCell( 0 , 0 ).getAlive() + " == false" ) ;
+            System.out.println( l1.getCell( 0 , 1 ).getAlive() + " == true" ) ;
+            System.out.println( l1.getCell( 0 , 2 ).getAlive() + " == false" ) ;
             System.out.println( l1.getCell( 1 , 0 ).getAlive() + " == false" ) ;
-            System.out.println( l1.getCell( 1 , 1 ).getAlive() + " == true" ) ;
-            System.out.println( l1.getCell( 1 , 2 ).getAlive() + " == false" ) ;
+            System.out.println( l1.getCell( 1 , 1 ).getAlive() + " == false" ) ;
+            System.out.println( l1.getCell( 1 , 2 ).getAlive() + " == true" ) ;
             System.out.println( l1.getCell( 2 , 0 ).getAlive() + " == true" ) ;
             System.out.println( l1.getCell( 2 , 1 ).getAlive() + " == true" ) ;
             System.out.println( l1.getCell( 2 , 2 ).getAlive() + " == false" ) ;
 
-            assert l1.getCell( 0 , 0 ).getAlive() == true ;
-            assert l1.getCell( 0 , 1 ).getAlive() == false ;
-            assert l1.getCell( 0 , 2 ).getAlive() == true ;
+            assert l1.getCell( 0 , 0 ).getAlive() == false ;
+            assert l1.getCell( 0 , 1 ).getAlive() == true ;
+            assert l1.getCell( 0 , 2 ).getAlive() == false ;
             assert l1.getCell( 1 , 0 ).getAlive() == false ;
-            assert l1.getCell( 1 , 1 ).getAlive() == true ;
-            assert l1.getCell( 1 , 2 ).getAlive() == false ;
+            assert l1.getCell( 1 , 1 ).getAlive() == false ;
+            assert l1.getCell( 1 , 2 ).getAlive() == true ;
             assert l1.getCell( 2 , 0 ).getAlive() == true ;
             assert l1.getCell( 2 , 1 ).getAlive() == true ;
             assert l1.getCell( 2 , 2 ).getAlive() == false ;
@@ -174,7 +184,14 @@ public class LandscapeTests {
 
 
     public static void main(String[] args) {
-
-        landscapeTests();
+        LandscapeEngine[] engines = args.length > 0
+            ? new LandscapeEngine[]{ LandscapeEngine.parse(args[0]) }
+            : LandscapeEngine.values();
+
+        for (LandscapeEngine e : engines) {
+            System.out.println("=== " + e + " ===");
+            engine = e;
+            landscapeTests();
+        }
     }
 }
\ No newline at end of file
@@ -7,6 +7,7 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 //import javafx.animation.Animation;
 //import javafx.animation.RotateTransition;
 import javafx.application.Application;
@@ -47,7 +48,11 @@ public class LifeSimulation extends Application {
     private static int CHART_WIDTH = 500, CHART_HEIGHT = 800, CELL_SIZE = 8, max = 5, steps = 1024, MAX_LIFE = 4, MIN_SIZE = 1, SLEEP_TIME = 10;
     private static String OUTPUT_DIR = "simulation_results";
     private static final boolean AUTO_SAVE = true;
-    private Landscape currentLandscape;
+    private static LandscapeEngine engine = LandscapeEngine.CELL;
+    private static Rule rule = Rule.CONWAY;
+    private static Topology topology = Topology.FLAT;
+    private static long seed = Seeds.fresh(); // every replicate's board is drawn from a stream derived from it
+    private AbstractLandscape currentLandscape;
     private Canvas simulationCanvas;
     private boolean isSimulationRunning = false;
     private Thread visualSimulationThread;
@@ -67,13 +72,13 @@ public class LifeSimulation extends Application {
         return canvas;
     }
 
-    private void drawLandscape(Canvas canvas, Landscape landscape) {
+    private void drawLandscape(Canvas canvas, AbstractLandscape landscape) {
         GraphicsContext gc = canvas.getGraphicsContext2D();
         gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
 
         for (int i = 0; i < landscape.getRows(); i++) {
             for (int j = 0; j < landscape.getCols(); j++) {
-                gc.setFill(landscape.getCell(i, j).getAlive() ? Color.BLACK : Color.WHITE);
+                gc.setFill(landscape.getAlive(i, j) ? Color.BLACK : Color.WHITE);
                 gc.fillRect(j * CELL_SIZE, i * CELL_SIZE, CELL_SIZE, CELL_SIZE);
                 gc.strokeRect(j * CELL_SIZE, i * CELL_SIZE, CELL_SIZE, CELL_SIZE);
             }
@@ -122,7 +127,7 @@ public class LifeSimulation extends Application {
             directory.mkdir();
         
         for (Map.Entry<String, MeshView> entry : charts3D.entrySet()) {
-            String baseFilename = dirName + "/" + entry.getKey();
+            String baseFilename = dirName + "/" + entry.getKey() + "_" + topology.label();
             save3DChartToOBJ(entry.getValue(), baseFilename + ".obj");
             save3DChartToSTL(entry.getValue(), baseFilename + ".stl");
         }
@@ -137,7 +142,7 @@ public class LifeSimulation extends Application {
         
         for (Map.Entry<String, LineChart<Number, Number>> entry : charts.entrySet()) {
             String dimensions = entry.getKey().replace(',', 'x');
-            String filename = dirName + "/landscape_" + dimensions + ".png";
+            String filename = dirName + "/landscape_" + dimensions + "_" + topology.label() + ".png";
             saveChart(entry.getValue(), filename);
         }
     }
@@ -178,7 +183,7 @@ public class LifeSimulation extends Application {
 
     @Override
     public void start(Stage stage) {
-        currentLandscape = new Landscape(max, max, 0.5);
+        currentLandscape = engine.create(max, max, 0.5, rule, topology);
         simulationCanvas = createSimulationCanvas(max, max);
         charts = new HashMap<>();
         charts3D = new HashMap<>();
@@ -193,7 +198,7 @@ public class LifeSimulation extends Application {
         stopSimButton.setOnAction(_ -> isSimulationRunning = false);
         resetSimButton.setOnAction(_ -> {
             isSimulationRunning = false;
-            currentLandscape = new Landscape(max, max, 0.5);
+            currentLandscape = engine.create(max, max, 0.5, rule, topology);
             drawLandscape(simulationCanvas, currentLandscape);
         });
         saveButton.setOnAction(_ -> {
@@ -227,7 +232,7 @@ public class LifeSimulation extends Application {
                 yAxis.setLabel("Average Living Cells");
 
                 LineChart<Number, Number> chart = new LineChart<>(xAxis, yAxis);
-                chart.setTitle(m + "x" + n + " Landscape");
+                chart.setTitle(m + "x" + n + " " + topology.label() + " Landscape");
                 chart.setCreateSymbols(false);
                 chart.setPrefSize(CHART_WIDTH, CHART_HEIGHT);
 
@@ -257,7 +262,7 @@ public class LifeSimulation extends Application {
         
         stage.setScene(scene);
         stage.setMaximized(true);
-        stage.setTitle("Life Simulation - Visualization and Analysis");
+        stage.setTitle("Life Simulation - Visualization and Analysis - " + rule + ", " + topology.label());
         stage.show();
 
         // Initial draw of the landscape
@@ -296,42 +301,37 @@ public class LifeSimulation extends Application {
 
                     // Collect data for both 2D and 3D visualizations
                     Map<String, Map<Double, double[]>> allData = new HashMap<>();
+                    Sweep sweep = new Sweep(engine, rule, topology, steps, seed);
+                    SweepScheduler scheduler = new SweepScheduler(Runtime.getRuntime().availableProcessors());
                     
                     // For each grid size combination
                     for (int m = MIN_SIZE; m <= max; m++) {
                         for (int n = MIN_SIZE; n <= m; n++) {
                             String key = m + "," + n;
-                            Map<Double, double[]> chanceData = new HashMap<>();
+                            // the points of a size finish on different workers
+                            Map<Double, double[]> chanceData = new ConcurrentHashMap<>();
                             allData.put(key, chanceData);
                             
                             // For each chance value
-                            for (int i = 0; i <= 20; i++) {
-                                double chance = i * 0.05;
-                                long totalLivingCells = 0;
-                                int r = 2 * m * n;
-                                
-                                // Run simulations
-                                for (int rep = 0; rep < r; rep++) {
-                                    Landscape landscape = new Landscape(m, n, chance);
-                                    for (int step = 0; step < steps; step++) {
-                                        landscape.advance();
-                                        totalLivingCells += landscape.countLivingCells();
-                                    }
-                                }
-                                
-                                final double averageLivingCells = totalLivingCells / ((double)r * steps);
-                                chanceData.put(chance, new double[]{averageLivingCells});
-                                
-                                // Update 2D charts
-                                final double finalChance = chance;
-                                Platform.runLater(() -> {
-                                    series.get(key).getData().add(
-                                        new XYChart.Data<>(finalChance, averageLivingCells)
-                                    );
+                            for (int i = 0; i <= Sweep.CHANCES; i++) {
+                                double chance = Sweep.chance(i);
+                                final int finalM = m, finalN = n;
+                                // cell updates of the point's replicates, so the biggest boards start first
+                                scheduler.add((long) m * n * Sweep.replicates(m, n) * steps, () -> {
+                                    final double averageLivingCells = sweep.point(finalM, finalN, chance)[0];
+                                    chanceData.put(chance, new double[]{averageLivingCells});
+                                    
+                                    // Update 2D charts
+                                    Platform.runLater(() -> {
+                                        series.get(key).getData().add(
+                                            new XYChart.Data<>(chance, averageLivingCells)
+                                        );
+                                    });
                                 });
                             }
                         }
                     }
+                    System.out.print(scheduler.run());
 
                     createSurfaceVisualization(root3D, allData);
 
@@ -557,7 +557,26 @@ public class LifeSimulation extends Application {
         
             if (args.length >= 3) 
                 setOutputDirectory(args[2]);
+
+            if (args.length >= 4)
+                engine = LandscapeEngine.parse(args[3]);
+
+            if (args.length >= 5)
+                rule = Rule.parse(args[4]);
+
+            if (args.length >= 6)
+                topology = Topology.parse(args[5]);
+
+            if (args.length >= 7)
+                seed = Seeds.parse(args[6]);
         }
+        System.out.println("master seed: " + seed);
+        if (!engine.supports(rule))
+            throw new IllegalArgumentException(engine + " cannot run " + rule);
+        if (!engine.supports(topology))
+            throw new IllegalArgumentException(engine + " cannot run on a " + topology.label());
+        if (engine == LandscapeEngine.VECTOR)
+            System.out.println(DenseKernel.best(rule).describe());
         launch(args);
     }
 }
\ No newline at end of file
@@ -0,0 +1,238 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.random.RandomGenerator;
+
+/**
+ * PackedLandscape's layout and full adders on two off-heap MemorySegments,
+ * so a board can be far larger than the heap and costs the garbage
+ * collector nothing. Row r occupies words [r * wordsPerRow, (r + 1) *
+ * wordsPerRow), column c in bit (c & 63) of word (c >>> 6); every index is
+ * a long, so a 100k x 100k board (1.25 GB per buffer) is fine.
+ *
+ * The buffers are either anonymous memory released when the landscape is
+ * unreachable, or mapped from a file: a header, then both buffers. The
+ * header records which buffer holds the current generation, so reopening
+ * the file with the same size picks the board up where it was, and the OS
+ * page cache writes it back without any explicit save.
+ *
+ * Populations can pass Integer.MAX_VALUE here; countLivingCells(),
+ * getBirths() and getDeaths() are capped like HashLifeLandscape's and
+ * getPopulation() gives the exact count.
+ */
+public class OffHeapLandscape extends AbstractLandscape implements AutoCloseable {
+    private static final long MAGIC = 0x4C4946454F464648L; // "LIFEOFFH"
+    private static final long HEADER = 4 * Long.BYTES; // magic, rows, columns, current buffer
+    private static final ValueLayout.OfLong WORD = ValueLayout.JAVA_LONG;
+
+    private final int wordsPerRow, last, lastBit;
+    private final long lastWordMask, words;
+    private final PackedLandscape.Combiner combiner; // null for B3/S23
+    private final Arena arena;
+    private final MemorySegment header; // null unless file-backed
+    private final MemorySegment[] buffers;
+    private int current;
+    private long live, born, died;
+
+    public OffHeapLandscape(int rows, int columns) {
+        this(rows, columns, 0.5);
+    }
+
+    public OffHeapLandscape(int rows, int columns, double chance) {
+        this(rows, columns, chance, Rule.CONWAY);
+    }
+
+    public OffHeapLandscape(int rows, int columns, double chance, Rule rule) {
+        this(rows, columns, chance, rule, Topology.FLAT);
+    }
+
+    public OffHeapLandscape(int rows, int columns, double chance, Rule rule, Topology topology) {
+        super(rows, columns, chance, rule, topology);
+        wordsPerRow = (columns + 63) >>> 6;
+        last = wordsPerRow - 1;
+        lastBit = (columns - 1) & 63;
+        lastWordMask = (columns & 63) == 0 ? -1L : (1L << (columns & 63)) - 1;
+        words = (long) rows * wordsPerRow;
+        combiner = PackedLandscape.Combiner.of(rule);
+        arena = Arena.ofAuto();
+        header = null;
+        buffers = new MemorySegment[]{ arena.allocate(words * Long.BYTES, Long.BYTES),
+                                       arena.allocate(words * Long.BYTES, Long.BYTES) };
+        reset();
+    }
+
+    /**
+     * Maps both buffers from file, creating or resizing it as needed. A file
+     * written earlier for the same rows and columns keeps its board; any
+     * other file is overwritten with a random one. close() unmaps it.
+     */
+    public OffHeapLandscape(int rows, int columns, double chance, Rule rule, Topology topology, Path file) {
+        super(rows, columns, chance, rule, topology);
+        wordsPerRow = (columns + 63) >>> 6;
+        last = wordsPerRow - 1;
+        lastBit = (columns - 1) & 63;
+        lastWordMask = (columns & 63) == 0 ? -1L : (1L << (columns & 63)) - 1;
+        words = (long) rows * wordsPerRow;
+        combiner = PackedLandscape.Combiner.of(rule);
+        long bytes = words * Long.BYTES, size = HEADER + 2 * bytes;
+        arena = Arena.ofShared();
+        MemorySegment mapped;
+        boolean resume;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            resume = channel.size() == size;
+            mapped = channel.map(FileChannel.MapMode.READ_WRITE, 0, size, arena);
+        } catch (IOException e) {
+            arena.close();
+            throw new UncheckedIOException("Cannot map " + file, e);
+        }
+        header = mapped.asSlice(0, HEADER);
+        buffers = new MemorySegment[]{ mapped.asSlice(HEADER, bytes), mapped.asSlice(HEADER + bytes, bytes) };
+        resume = resume && header.getAtIndex(WORD, 0) == MAGIC
+            && header.getAtIndex(WORD, 1) == rows && header.getAtIndex(WORD, 2) == columns;
+        if (resume) {
+            current = (int) header.getAtIndex(WORD, 3) & 1;
+            for (long i = 0; i < words; i++)
+                live += Long.bitCount(buffers[current].getAtIndex(WORD, i));
+        } else {
+            header.setAtIndex(WORD, 0, MAGIC);
+            header.setAtIndex(WORD, 1, rows);
+            header.setAtIndex(WORD, 2, columns);
+            reset();
+        }
+    }
+
+    public boolean getAlive(int row, int col) {
+        long i = (long) row * wordsPerRow + (col >>> 6);
+        return ((buffers[current].getAtIndex(WORD, i) >>> (col & 63)) & 1L) != 0;
+    }
+
+    public void setAlive(int row, int col, boolean alive) {
+        MemorySegment cells = buffers[current];
+        long i = (long) row * wordsPerRow + (col >>> 6), word = cells.getAtIndex(WORD, i);
+        long changed = alive ? word | 1L << (col & 63) : word & ~(1L << (col & 63));
+        cells.setAtIndex(WORD, i, changed);
+        live += Long.bitCount(changed) - Long.bitCount(word);
+    }
+
+    public int countLivingCells() {
+        return (int) Math.min(live, Integer.MAX_VALUE);
+    }
+
+    public long getPopulation() {
+        return live;
+    }
+
+    public int getBirths() {
+        return (int) Math.min(born, Integer.MAX_VALUE);
+    }
+
+    public int getDeaths() {
+        return (int) Math.min(died, Integer.MAX_VALUE);
+    }
+
+    // A snapshot is a long[], so boards past its largest length refuse cycle detection
+    public int stateWords() {
+        if (words > Integer.MAX_VALUE - 8)
+            throw new UnsupportedOperationException("a " + rows + "x" + columns + " board needs " + words
+                + " words per snapshot, too many for cycle detection; run it without");
+        return (int) words;
+    }
+
+    public void copyState(long[] state) {
+        MemorySegment.copy(buffers[current], WORD, 0, state, 0, stateWords());
+    }
+
+    // Draws whole words; bits past the last column are cleared
+    public void reset(RandomGenerator rand) {
+        MemorySegment cells = buffers[current];
+        live = born = died = 0;
+        for (long i = 0; i < words; i++) {
+            long word = Bernoulli.nextWord(rand, initialChance);
+            if (i % wordsPerRow == last) word &= lastWordMask;
+            cells.setAtIndex(WORD, i, word);
+            live += Long.bitCount(word);
+        }
+    }
+
+    /**
+     * Each row is read once per neighboring row through a sliding window of
+     * three words per row, so every word is loaded three times per
+     * generation whatever the topology.
+     */
+    public void advance() {
+        MemorySegment c = buffers[current], n = buffers[current ^ 1];
+        PackedLandscape.Combiner r = combiner;
+        boolean torus = topology == Topology.TORUS;
+        long births = 0, deaths = 0;
+        for (int row = 0; row < rows; row++) {
+            long mb = (long) row * wordsPerRow;
+            long ub = row > 0 ? mb - wordsPerRow : torus ? (long) (rows - 1) * wordsPerRow : -1;
+            long db = row < rows - 1 ? mb + wordsPerRow : torus ? 0 : -1;
+            // the word before word 0: none on a flat board, the last column on a torus
+            long up = torus ? wrapWest(c, ub) : 0L, mp = torus ? wrapWest(c, mb) : 0L, dp = torus ? wrapWest(c, db) : 0L;
+            long uc = word(c, ub, 0), mc = word(c, mb, 0), dc = word(c, db, 0);
+            for (int k = 0; k <= last; k++) {
+                long un = 0L, mn = 0L, dn = 0L, ue, me, de;
+                if (k < last) {
+                    un = word(c, ub, k + 1);
+                    mn = word(c, mb, k + 1);
+                    dn = word(c, db, k + 1);
+                    ue = PackedLandscape.east(uc, un);
+                    me = PackedLandscape.east(mc, mn);
+                    de = PackedLandscape.east(dc, dn);
+                } else {
+                    // column 0 is east of the last column on a torus
+                    ue = torus ? (uc >>> 1) | (word(c, ub, 0) & 1L) << lastBit : uc >>> 1;
+                    me = torus ? (mc >>> 1) | (word(c, mb, 0) & 1L) << lastBit : mc >>> 1;
+                    de = torus ? (dc >>> 1) | (word(c, db, 0) & 1L) << lastBit : dc >>> 1;
+                }
+                long result = PackedLandscape.nextWord(
+                    PackedLandscape.west(uc, up), uc, ue,
+                    PackedLandscape.west(mc, mp), mc, me,
+                    PackedLandscape.west(dc, dp), dc, de, r);
+                if (k == last) result &= lastWordMask;
+                n.setAtIndex(WORD, mb + k, result);
+                births += Long.bitCount(result & ~mc);
+                deaths += Long.bitCount(mc & ~result);
+                up = uc; uc = un;
+                mp = mc; mc = mn;
+                dp = dc; dc = dn;
+            }
+        }
+        current ^= 1;
+        if (header != null) header.setAtIndex(WORD, 3, current);
+        born = births;
+        died = deaths;
+        live += births - deaths;
+    }
+
+    // Word k of the row starting at base, or a dead word for a row off a flat board
+    private static long word(MemorySegment s, long base, int k) {
+        return base < 0 ? 0L : s.getAtIndex(WORD, base + k);
+    }
+
+    // The last column of the row in bit 63, as PackedLandscape.west() expects of the previous word
+    private long wrapWest(MemorySegment s, long base) {
+        return word(s, base, last) >>> lastBit << 63;
+    }
+
+    // Writes a file-backed board out now instead of whenever the OS gets to it
+    public void force() {
+        if (header != null) {
+            header.force();
+            buffers[0].force();
+            buffers[1].force();
+        }
+    }
+
+    // Unmaps a file-backed board; anonymous buffers are freed by the garbage collector instead
+    public void close() {
+        if (header != null && arena.scope().isAlive()) arena.close();
+    }
+}
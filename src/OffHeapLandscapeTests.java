@@ -0,0 +1,72 @@
+/*
+file name:      OffHeapLandscapeTests.java
+
+How to run:     java --enable-preview -ea OffHeapLandscapeTests
+
+*/
+
+//Note: this file is ready to run
+//A file-backed board must pick up where it was when the file is reopened.
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class OffHeapLandscapeTests {
+
+    public static void main(String[] args) throws Exception {
+
+        // case 1: testing a file-backed board resumes after close
+        {
+            // set up
+            Path file = Files.createTempFile("offheap", ".bin");
+            AbstractLandscape reference = LandscapeEngine.PACKED.create(70, 130, 0., Rule.CONWAY, Topology.TORUS);
+            String saved;
+            try (OffHeapLandscape l1 = new OffHeapLandscape(70, 130, 0.3, Rule.CONWAY, Topology.TORUS, file)) {
+                for (int i = 0; i < 70; i++)
+                    for (int j = 0; j < 130; j++)
+                        reference.setAlive(i, j, l1.getAlive(i, j));
+                l1.advance(5);
+                reference.advance(5);
+                saved = l1.toString();
+            }
+            OffHeapLandscape l2 = new OffHeapLandscape(70, 130, 0.3, Rule.CONWAY, Topology.TORUS, file);
+
+            // verify
+            System.out.println( l2.countLivingCells() + " == " + reference.countLivingCells() );
+
+            // test
+            assert saved.equals(l2.toString()) && saved.equals(reference.toString()) : "Error in OffHeapLandscape reopening its file";
+            assert l2.countLivingCells() == reference.countLivingCells() : "Error in OffHeapLandscape::countLivingCells() after reopening";
+            l2.advance(7);
+            reference.advance(7);
+            assert l2.toString().equals(reference.toString()) : "Error in OffHeapLandscape::advance() after reopening";
+            l2.close();
+
+            // another size overwrites the file with a fresh board
+            OffHeapLandscape l3 = new OffHeapLandscape(9, 9, 1., Rule.CONWAY, Topology.FLAT, file);
+            assert l3.countLivingCells() == 81 : "Error in OffHeapLandscape with a file of another size";
+            l3.close();
+            new File(file.toString()).delete();
+        }
+
+        // case 2: testing a board wider than a row of words against the packed engine
+        {
+            // set up
+            AbstractLandscape l1 = new OffHeapLandscape(300, 1000, 0.35);
+            AbstractLandscape l2 = LandscapeEngine.PACKED.create(300, 1000, 0.);
+            for (int i = 0; i < 300; i++)
+                for (int j = 0; j < 1000; j++)
+                    l2.setAlive(i, j, l1.getAlive(i, j));
+            l1.advance(40);
+            l2.advance(40);
+
+            // verify
+            System.out.println( ((OffHeapLandscape) l1).getPopulation() + " == " + l2.countLivingCells() );
+
+            // test
+            assert l1.toString().equals(l2.toString()) : "Error in OffHeapLandscape::advance()";
+            assert l1.getBirths() == l2.getBirths() && l1.getDeaths() == l2.getDeaths() : "Error in OffHeapLandscape::getBirths()/getDeaths()";
+        }
+    }
+}
@@ -0,0 +1,83 @@
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Sweep points shared by every thread of a program. A point is keyed by
+ * one long packed from its topology, m, n and chance, and computed at most
+ * once: a thread that asks for a point another thread is computing waits
+ * for that computation instead of starting its own. A computation that
+ * throws is not cached, so the next request tries again.
+ *
+ * Counts hits (the point was there), misses (this thread computed it),
+ * shared requests (it waited for another thread's computation) and the
+ * computations in flight right now.
+ */
+public final class PointCache {
+    private final ConcurrentHashMap<Long, CompletableFuture<double[]>> points = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder(), misses = new LongAdder(), shared = new LongAdder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * Packs topology (8 bits), m and n (16 bits each) and the chance in
+     * millionths (24 bits), so 0.15 and 0.05 + 0.05 + 0.05 are one point
+     * and results from different topologies never share a key.
+     */
+    public static long key(Topology topology, int m, int n, double chance) {
+        if (m < 0 || m > 0xFFFF || n < 0 || n > 0xFFFF)
+            throw new IllegalArgumentException("board sizes must be between 0 and 65535: " + m + "x" + n);
+        if (!(chance >= 0 && chance <= 1))
+            throw new IllegalArgumentException("chance must be between 0 and 1: " + chance);
+        return (long) topology.ordinal() << 56 | (long) m << 40 | (long) n << 24 | Math.round(chance * 1_000_000);
+    }
+
+    // Returns the point's result, computing it with compute unless it is cached or being computed
+    public double[] get(long key, Supplier<double[]> compute) {
+        CompletableFuture<double[]> mine = new CompletableFuture<>();
+        CompletableFuture<double[]> existing = points.putIfAbsent(key, mine);
+        if (existing != null) {
+            (existing.isDone() ? hits : shared).increment();
+            return existing.join();
+        }
+        misses.increment();
+        inFlight.incrementAndGet();
+        try {
+            double[] result = compute.get();
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            points.remove(key, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getShared() {
+        return shared.sum();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int size() {
+        return points.size();
+    }
+
+    public String toString() {
+        return String.format("%d points: %d hits, %d misses, %d shared, %d in flight",
+                             size(), getHits(), getMisses(), getShared(), getInFlight());
+    }
+}
@@ -0,0 +1,84 @@
+/*
+file name:      PointCacheTests.java
+
+How to run:     java -ea PointCacheTests
+
+*/
+
+//Note: this file is ready to run
+//Threads asking for the same point at once must share one computation.
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PointCacheTests {
+
+    public static void main(String[] args) throws Exception {
+
+        // case 1: testing concurrent requests for one point compute it once
+        {
+            // set up
+            PointCache cache = new PointCache();
+            AtomicInteger computed = new AtomicInteger();
+            CountDownLatch release = new CountDownLatch(1);
+            long key = PointCache.key(Topology.FLAT, 7, 5, 0.35);
+            ExecutorService pool = Executors.newFixedThreadPool(8);
+            Future<?>[] requests = new Future<?>[8];
+            for (int t = 0; t < 8; t++)
+                requests[t] = pool.submit(() -> cache.get(key, () -> {
+                    computed.incrementAndGet();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                    return new double[]{ 3.5, 0.5 };
+                }));
+            while (cache.getMisses() + cache.getShared() < 8)
+                Thread.sleep(1);
+            int inFlight = cache.getInFlight();
+            release.countDown();
+            for (Future<?> request : requests)
+                request.get();
+            double[] again = cache.get(key, () -> new double[]{ -1, -1 });
+            pool.shutdown();
+            pool.awaitTermination(1, TimeUnit.SECONDS);
+
+            // verify
+            System.out.println( cache );
+
+            // test
+            assert computed.get() == 1 : "Error in PointCache::get() computing a point twice";
+            assert inFlight == 1 && cache.getInFlight() == 0 : "Error in PointCache::getInFlight()";
+            assert cache.getMisses() == 1 && cache.getShared() == 7 && cache.getHits() == 1 : "Error in PointCache counters";
+            assert again[0] == 3.5 : "Error in PointCache::get() on a cached point";
+        }
+
+        // case 2: testing keys and failed computations
+        {
+            // set up
+            PointCache cache = new PointCache();
+            long key = PointCache.key(Topology.TORUS, 9, 9, 0.15);
+            boolean threw = false;
+            try {
+                cache.get(key, () -> { throw new IllegalStateException("no result"); });
+            } catch (IllegalStateException e) {
+                threw = true;
+            }
+            double[] retried = cache.get(key, () -> new double[]{ 1, 0 });
+
+            // verify
+            System.out.println( Long.toHexString(key) );
+
+            // test
+            assert threw && retried[0] == 1 : "Error in PointCache::get() after a failed computation";
+            assert PointCache.key(Topology.FLAT, 3, 4, 0.05 + 0.05 + 0.05) == PointCache.key(Topology.FLAT, 3, 4, 3 * 0.05) : "Error in PointCache::key() rounding chances";
+            assert PointCache.key(Topology.FLAT, 3, 4, 0.15) != PointCache.key(Topology.TORUS, 3, 4, 0.15) : "Error in PointCache::key() topologies";
+            assert PointCache.key(Topology.FLAT, 3, 4, 0.15) != PointCache.key(Topology.FLAT, 4, 3, 0.15) : "Error in PointCache::key() sizes";
+        }
+    }
+}
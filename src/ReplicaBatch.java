@@ -0,0 +1,223 @@
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * 64 replicas of one small board advanced together. The board is bit-sliced:
+ * cells[i] holds cell i = row * columns + col of every replica, replica k in
+ * bit k (its lane). PackedLandscape's full adders work bit by bit, so one
+ * nextWord() call per cell advances all 64 lanes at once.
+ *
+ * Populations are counted lane-wise too: each generation's cell words are
+ * added into a bit-sliced counter, plane j holding bit j of every lane's
+ * total, so run() only turns planes back into numbers once at the end.
+ */
+public final class ReplicaBatch {
+    public static final int LANES = 64;
+
+    private final int rows, columns, cells;
+    private final PackedLandscape.Combiner rule; // null for B3/S23
+    private final int[] neighbors; // eight per cell; index cells is a dead cell off a flat board
+    private long[] current, next;
+
+    public ReplicaBatch(int rows, int columns, Rule rule, Topology topology) {
+        this.rows = rows;
+        this.columns = columns;
+        this.cells = rows * columns;
+        this.rule = PackedLandscape.Combiner.of(rule);
+        current = new long[cells + 1];
+        next = new long[cells + 1];
+        neighbors = new int[8 * cells];
+        boolean torus = topology == Topology.TORUS;
+        int k = 0;
+        for (int r = 0; r < rows; r++) {
+            for (int c = 0; c < columns; c++) {
+                // row above, then own row, then row below, west to east, skipping the cell itself
+                for (int i = -1; i <= 1; i++) {
+                    for (int j = -1; j <= 1; j++) {
+                        if (i == 0 && j == 0) continue;
+                        int nr = r + i, nc = c + j;
+                        if (torus) neighbors[k++] = Math.floorMod(nr, rows) * columns + Math.floorMod(nc, columns);
+                        else if (nr < 0 || nr >= rows || nc < 0 || nc >= columns) neighbors[k++] = cells;
+                        else neighbors[k++] = nr * columns + nc;
+                    }
+                }
+            }
+        }
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return columns;
+    }
+
+    public boolean getAlive(int lane, int row, int col) {
+        return (current[row * columns + col] >>> lane & 1L) != 0;
+    }
+
+    public void setAlive(int lane, int row, int col, boolean alive) {
+        if (alive) current[row * columns + col] |= 1L << lane;
+        else current[row * columns + col] &= ~(1L << lane);
+    }
+
+    // Every lane gets its own random board
+    public void randomize(double chance, RandomGenerator rand) {
+        for (int i = 0; i < cells; i++)
+            current[i] = Bernoulli.nextWord(rand, chance);
+    }
+
+    /**
+     * Lane k gets replicate first + k's board, drawn cell by cell in row-major
+     * order from Seeds.replicate(seed, rows, columns, chance, first + k) like
+     * the engines' reset(), so a lane and Sweep's replicate of that number
+     * start from the same board.
+     */
+    public void randomize(double chance, long seed, int first) {
+        Arrays.fill(current, 0, cells, 0L);
+        for (int lane = 0; lane < LANES; lane++) {
+            Bernoulli cell = new Bernoulli(Seeds.replicate(seed, rows, columns, chance, first + lane), chance);
+            for (int i = 0; i < cells; i++)
+                if (cell.next()) current[i] |= 1L << lane;
+        }
+    }
+
+    public void advance() {
+        long[] c = current, n = next;
+        int[] nb = neighbors;
+        for (int i = 0, k = 0; i < cells; i++, k += 8)
+            n[i] = PackedLandscape.nextWord(c[nb[k]], c[nb[k + 1]], c[nb[k + 2]],
+                                            c[nb[k + 3]], c[i], c[nb[k + 4]],
+                                            c[nb[k + 5]], c[nb[k + 6]], c[nb[k + 7]], rule);
+        current = n;
+        next = c;
+    }
+
+    public int countLivingCells(int lane) {
+        int count = 0;
+        for (int i = 0; i < cells; i++)
+            count += (int) (current[i] >>> lane & 1L);
+        return count;
+    }
+
+    /**
+     * Advances every lane steps generations and returns, per lane, the sum of
+     * its population after each generation. With cycle detection the whole
+     * batch stops like ReplicateRun once all 64 boards together repeat a
+     * state; the batch is then left at a generation equal to generation steps.
+     */
+    public long[] run(int steps, boolean detectCycles) {
+        long[] sum = new long[planes((long) steps * cells)];
+        long[] saved = null, savedSum = null;
+        if (detectCycles) {
+            saved = current.clone();
+            savedSum = sum.clone();
+        }
+        int power = 1, lambda = 0;
+        for (int t = 1; t <= steps; t++) {
+            advance();
+            addCells(sum);
+            if (!detectCycles) continue;
+
+            lambda++;
+            if (Arrays.equals(current, saved)) {
+                // generations t + 1 .. steps repeat the last period (t - lambda, t]
+                long[] period = subtract(lanes(sum), lanes(savedSum));
+                long repeats = (steps - t) / lambda;
+                for (int i = 0, r = (steps - t) % lambda; i < r; i++) {
+                    advance();
+                    addCells(sum);
+                }
+                long[] total = lanes(sum);
+                for (int lane = 0; lane < LANES; lane++)
+                    total[lane] += repeats * period[lane];
+                return total;
+            }
+            if (lambda == power) {
+                System.arraycopy(current, 0, saved, 0, cells);
+                System.arraycopy(sum, 0, savedSum, 0, sum.length);
+                power <<= 1;
+                lambda = 0;
+            }
+        }
+        return lanes(sum);
+    }
+
+    /**
+     * Per-replicate sums of run(steps, true) for the given number of random
+     * replicates, 64 at a time. Replicate r draws its board from the stream
+     * Seeds.replicate(seed, rows, columns, chance, r), as in Sweep.replicates.
+     */
+    public static long[] replicateSums(int rows, int columns, double chance, Rule rule, Topology topology,
+                                       int replicates, int steps, long seed) {
+        ReplicaBatch batch = new ReplicaBatch(rows, columns, rule, topology);
+        long[] sums = new long[replicates];
+        for (int from = 0; from < replicates; from += LANES) {
+            batch.randomize(chance, seed, from);
+            long[] lanes = batch.run(steps, true);
+            System.arraycopy(lanes, 0, sums, from, Math.min(LANES, replicates - from));
+        }
+        return sums;
+    }
+
+    /**
+     * Welford summary of the replicates' averages (living cells per
+     * generation), run in batches of LANES on the same streams as
+     * replicateSums until the 95% confidence interval of their mean is
+     * within halfWidth either side or maxReplicates have run. A halfWidth of
+     * 0 always runs maxReplicates.
+     */
+    public static Welford replicateAverages(int rows, int columns, double chance, Rule rule, Topology topology,
+                                            int maxReplicates, int steps, long seed, double halfWidth) {
+        ReplicaBatch batch = new ReplicaBatch(rows, columns, rule, topology);
+        Welford averages = new Welford();
+        for (int from = 0; from < maxReplicates; from += LANES) {
+            batch.randomize(chance, seed, from);
+            long[] lanes = batch.run(steps, true);
+            for (int lane = 0; lane < Math.min(LANES, maxReplicates - from); lane++)
+                averages.add(lanes[lane] / (double) steps);
+            // a batch costs the same however many lanes are used, so only stop between batches
+            if (halfWidth > 0 && averages.halfWidth(Welford.Z95) <= halfWidth)
+                break;
+        }
+        return averages;
+    }
+
+    // Bit planes needed to count up to max in every lane
+    private static int planes(long max) {
+        return Math.max(1, 64 - Long.numberOfLeadingZeros(max));
+    }
+
+    // Adds each cell's lanes into the bit-sliced counter; carries rarely travel far
+    private void addCells(long[] counter) {
+        for (int i = 0; i < cells; i++) {
+            long carry = current[i];
+            for (int j = 0; carry != 0; j++) {
+                long overflow = counter[j] & carry;
+                counter[j] ^= carry;
+                carry = overflow;
+            }
+        }
+    }
+
+    // The bit-sliced counter as one number per lane
+    private static long[] lanes(long[] counter) {
+        long[] values = new long[LANES];
+        for (int j = 0; j < counter.length; j++) {
+            long plane = counter[j];
+            while (plane != 0) {
+                int lane = Long.numberOfTrailingZeros(plane);
+                values[lane] += 1L << j;
+                plane &= plane - 1;
+            }
+        }
+        return values;
+    }
+
+    private static long[] subtract(long[] a, long[] b) {
+        for (int lane = 0; lane < LANES; lane++)
+            a[lane] -= b[lane];
+        return a;
+    }
+}
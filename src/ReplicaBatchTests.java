@@ -0,0 +1,146 @@
+/*
+file name:      ReplicaBatchTests.java
+
+How to run:     java -ea ReplicaBatchTests
+
+*/
+
+//Note: this file is ready to run
+//Every lane of a batch must give exactly the sums of its own landscape.
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class ReplicaBatchTests {
+
+    private static final Rule[] RULES = { Rule.CONWAY, Rule.parse("B36/S23"), Rule.parse("B3/S023"), Rule.parse("B0/S8") };
+
+    // lane of the batch copied into a packed landscape
+    private static AbstractLandscape lane(ReplicaBatch batch, int lane, Rule rule, Topology topology) {
+        AbstractLandscape l = LandscapeEngine.PACKED.create(batch.getRows(), batch.getCols(), 0., rule, topology);
+        for (int i = 0; i < batch.getRows(); i++)
+            for (int j = 0; j < batch.getCols(); j++)
+                l.setAlive(i, j, batch.getAlive(lane, i, j));
+        return l;
+    }
+
+    public static void main(String[] args) {
+
+        // case 1: testing every lane against ReplicateRun on every small board
+        {
+            // set up
+            Random rand = new Random(5);
+            int steps = 300;
+            for (Rule rule : RULES) {
+                for (Topology topology : Topology.values()) {
+                    for (int m = 1; m <= 9; m++) {
+                        for (int n = 1; n <= m; n++) {
+                            ReplicaBatch batch = new ReplicaBatch(m, n, rule, topology);
+                            batch.randomize(0.1 + 0.8 * rand.nextDouble(), rand);
+                            AbstractLandscape[] lanes = new AbstractLandscape[ReplicaBatch.LANES];
+                            for (int k = 0; k < lanes.length; k++)
+                                lanes[k] = lane(batch, k, rule, topology);
+                            long[] sums = batch.run(steps, (m + n) % 2 == 0);
+
+                            // test
+                            for (int k = 0; k < lanes.length; k++) {
+                                ReplicateRun run = ReplicateRun.of(lanes[k], steps, false);
+                                assert sums[k] == run.getSum() : "Error in ReplicaBatch::run() on " + m + "x" + n + " " + rule + " " + topology;
+                                assert batch.countLivingCells(k) == run.getLast() : "Error in ReplicaBatch::countLivingCells() on " + m + "x" + n + " " + rule + " " + topology;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        // case 2: testing a blinker in one lane leaves the others empty
+        {
+            // set up
+            ReplicaBatch batch = new ReplicaBatch(5, 5, Rule.CONWAY, Topology.FLAT);
+            batch.setAlive(37, 2, 1, true);
+            batch.setAlive(37, 2, 2, true);
+            batch.setAlive(37, 2, 3, true);
+            long[] sums = batch.run(101, true);
+
+            // verify
+            System.out.println( sums[37] + " == 303" );
+
+            // test
+            assert sums[37] == 303 : "Error in ReplicaBatch::run()";
+            assert batch.getAlive(37, 1, 2) && !batch.getAlive(37, 2, 1) : "Error in ReplicaBatch::run() phase";
+            for (int k = 0; k < ReplicaBatch.LANES; k++)
+                assert k == 37 || sums[k] == 0 : "Error in ReplicaBatch::run() lane " + k;
+        }
+
+        // case 3: testing replicateSums() gives one sum per replicate, here all of a full board
+        {
+            // set up
+            long[] sums = ReplicaBatch.replicateSums(4, 3, 1.0, Rule.CONWAY, Topology.FLAT, 100, 10, 42);
+            long full = ReplicateRun.of(LandscapeEngine.PACKED.create(4, 3, 1.0), 10, false).getSum();
+
+            // verify
+            System.out.println( sums[99] + " == " + full );
+
+            // test
+            assert sums.length == 100 : "Error in ReplicaBatch::replicateSums() length";
+            for (long sum : sums)
+                assert sum == full : "Error in ReplicaBatch::replicateSums()";
+        }
+
+        // case 4: testing the same seed gives the same sums and another seed does not
+        {
+            // set up
+            long[] s1 = ReplicaBatch.replicateSums(6, 5, 0.4, Rule.CONWAY, Topology.TORUS, 150, 64, 7);
+            long[] s2 = ReplicaBatch.replicateSums(6, 5, 0.4, Rule.CONWAY, Topology.TORUS, 150, 64, 7);
+            long[] s3 = ReplicaBatch.replicateSums(6, 5, 0.4, Rule.CONWAY, Topology.TORUS, 150, 64, 8);
+
+            // test
+            assert Arrays.equals(s1, s2) : "Error in ReplicaBatch::replicateSums() with a seed";
+            assert !Arrays.equals(s1, s3) : "Error in ReplicaBatch::replicateSums() with another seed";
+        }
+    
+        // case 5: testing replicateAverages() runs every replicate without a half-width and stops early with one
+        {
+            // set up
+            long[] sums = ReplicaBatch.replicateSums(6, 5, 0.4, Rule.CONWAY, Topology.TORUS, 150, 64, 7);
+            Welford all = ReplicaBatch.replicateAverages(6, 5, 0.4, Rule.CONWAY, Topology.TORUS, 150, 64, 7, 0);
+            Welford empty = ReplicaBatch.replicateAverages(6, 5, 0., Rule.CONWAY, Topology.TORUS, 1000, 64, 7, 0.01);
+            Welford noisy = ReplicaBatch.replicateAverages(6, 5, 0.4, Rule.CONWAY, Topology.TORUS, 1000, 64, 7, 0.5);
+            double total = 0;
+            for (long sum : sums)
+                total += sum / 64.;
+
+            // verify
+            System.out.println( all.getMean() + " == " + total / 150 + ", " + empty.getCount() + " and " + noisy.getCount() + " replicates" );
+
+            // test
+            assert all.getCount() == 150 && Math.abs(all.getMean() - total / 150) < 1e-9 : "Error in ReplicaBatch::replicateAverages()";
+            assert empty.getCount() == ReplicaBatch.LANES && empty.getMean() == 0 : "Error in ReplicaBatch::replicateAverages() on a flat point";
+            assert noisy.getCount() % ReplicaBatch.LANES == 0 && noisy.getCount() < 1000 && noisy.halfWidth(Welford.Z95) <= 0.5
+                : "Error in ReplicaBatch::replicateAverages() stopping at the half-width";
+        }
+
+        // case 6: testing each lane starts from its own replicate's board, as Sweep draws it
+        {
+            // set up
+            int first = 128;
+            ReplicaBatch batch = new ReplicaBatch(7, 11, Rule.CONWAY, Topology.TORUS);
+            batch.randomize(0.3, 7, first);
+            boolean same = true;
+            for (int k = 0; k < ReplicaBatch.LANES; k++) {
+                AbstractLandscape l = LandscapeEngine.CELL.create(7, 11, 0.3, Rule.CONWAY, Topology.TORUS);
+                l.reset(Seeds.replicate(7, 7, 11, 0.3, first + k));
+                for (int i = 0; i < 7; i++)
+                    for (int j = 0; j < 11; j++)
+                        same &= batch.getAlive(k, i, j) == l.getAlive(i, j);
+            }
+
+            // verify
+            System.out.println( same + " == true" );
+
+            // test
+            assert same : "Error in ReplicaBatch::randomize() lane streams";
+        }
+}
+}
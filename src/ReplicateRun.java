@@ -0,0 +1,100 @@
+import java.util.Arrays;
+
+/**
+ * Advances one replicate of a sweep a given number of generations and
+ * records the sum of countLivingCells() after each generation, plus the
+ * count after the last one.
+ *
+ * Small bounded boards nearly always settle into a still life, an
+ * oscillator or extinction long before the last generation. With cycle
+ * detection on, each generation's state is compared with one saved
+ * snapshot (Brent's algorithm: the snapshot is retaken at generations
+ * 1, 2, 4, 8, ...). Once generation t equals generation t - p, every later
+ * generation repeats one from the last period, so the remaining counts are
+ * added up in closed form and the landscape is left at generation t. The
+ * sums are exact integers, so they equal those of a full run.
+ *
+ * Cycle detection is only valid for bounded landscapes, where the board is
+ * the whole state, and only for boards whose snapshot fits in a long[];
+ * stateWords() throws UnsupportedOperationException for larger ones.
+ */
+public final class ReplicateRun {
+    private final long sum;
+    private final int last, period, simulated;
+
+    private ReplicateRun(long sum, int last, int period, int simulated) {
+        this.sum = sum;
+        this.last = last;
+        this.period = period;
+        this.simulated = simulated;
+    }
+
+    public static ReplicateRun of(AbstractLandscape landscape, int steps, boolean detectCycles) {
+        int[] counts = new int[steps + 1];
+        long sum = 0;
+        long[] saved = null, current = null;
+        if (detectCycles) {
+            saved = new long[landscape.stateWords()];
+            current = new long[saved.length];
+            landscape.copyState(saved);
+        }
+        int power = 1, lambda = 0;
+        for (int t = 1; t <= steps; t++) {
+            landscape.advance();
+            counts[t] = landscape.countLivingCells();
+            sum += counts[t];
+            if (!detectCycles) continue;
+
+            landscape.copyState(current);
+            lambda++;
+            if (Arrays.equals(current, saved)) {
+                int r = (steps - t) % lambda;
+                int last = r == 0 ? counts[t] : counts[t - lambda + r];
+                return new ReplicateRun(sum + remainingSum(counts, t, lambda, steps), last, lambda, t);
+            }
+            if (lambda == power) {
+                long[] swap = saved;
+                saved = current;
+                current = swap;
+                power <<= 1;
+                lambda = 0;
+            }
+        }
+        return new ReplicateRun(sum, steps == 0 ? landscape.countLivingCells() : counts[steps], 0, steps);
+    }
+
+    /**
+     * Given the counts of generations 1 .. t and that generation t repeats
+     * generation t - period, returns the sum of the counts of generations
+     * t + 1 .. steps: generation t + i has the count of t - period + i.
+     */
+    static long remainingSum(int[] counts, int t, int period, int steps) {
+        int remaining = steps - t, r = remaining % period;
+        long cycleSum = 0, partial = 0;
+        for (int i = 1; i <= period; i++) {
+            cycleSum += counts[t - period + i];
+            if (i <= r) partial += counts[t - period + i];
+        }
+        return (long) (remaining / period) * cycleSum + partial;
+    }
+
+    // Sum of countLivingCells() over generations 1 .. steps
+    public long getSum() {
+        return sum;
+    }
+
+    // countLivingCells() at generation steps
+    public int getLast() {
+        return last;
+    }
+
+    // The cycle length found, or 0 if the run never repeated a state
+    public int getPeriod() {
+        return period;
+    }
+
+    // Generations actually advanced
+    public int getSimulated() {
+        return simulated;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+file name:      ReplicateRunTests.java
+
+How to run:     java -ea ReplicateRunTests            (every bounded engine)
+                java -ea ReplicateRunTests packed     (a single engine)
+*/
+
+//Note: this file is ready to run
+//Runs with cycle detection must give exactly the sums of full runs.
+
+import java.util.Random;
+
+public class ReplicateRunTests {
+
+    private static final int STEPS = 1024;
+
+    // a landscape of the engine holding a random board drawn from seed
+    private static AbstractLandscape board(LandscapeEngine engine, int rows, int columns, double chance, Topology topology, long seed) {
+        AbstractLandscape l = engine.create(rows, columns, 0., Rule.CONWAY, topology);
+        Random rand = new Random(seed);
+        for (int i = 0; i < rows; i++)
+            for (int j = 0; j < columns; j++)
+                l.setAlive(i, j, rand.nextDouble() < chance);
+        return l;
+    }
+
+    public static void replicateRunTests(LandscapeEngine engine) {
+
+        // case 1: testing sums against full runs on every small board
+        {
+            // set up
+            long skipped = 0;
+            for (Topology topology : Topology.values()) {
+                for (int m = 1; m <= 9; m++) {
+                    for (int n = 1; n <= m; n++) {
+                        for (int i = 0; i <= 20; i += 4) {
+                            long seed = m * 1000 + n * 100 + i;
+                            ReplicateRun full = ReplicateRun.of(board(engine, m, n, i * 0.05, topology, seed), STEPS, false);
+                            ReplicateRun fast = ReplicateRun.of(board(engine, m, n, i * 0.05, topology, seed), STEPS, true);
+
+                            // test
+                            assert fast.getSum() == full.getSum() : "Error in ReplicateRun::getSum() on " + engine + " " + m + "x" + n + " " + topology;
+                            assert fast.getLast() == full.getLast() : "Error in ReplicateRun::getLast() on " + engine + " " + m + "x" + n + " " + topology;
+                            assert full.getSimulated() == STEPS : "Error in ReplicateRun::getSimulated()";
+                            skipped += STEPS - fast.getSimulated();
+                        }
+                    }
+                }
+            }
+
+            // verify
+            System.out.println( "generations skipped: " + skipped );
+        }
+
+        // case 2: testing a blinker is found with period 2
+        {
+            // set up
+            AbstractLandscape l1 = engine.create(5, 5, 0.);
+            l1.setAlive(2, 1, true);
+            l1.setAlive(2, 2, true);
+            l1.setAlive(2, 3, true);
+            ReplicateRun run = ReplicateRun.of(l1, 101, true);
+
+            // verify
+            System.out.println( run.getPeriod() + " == 2" );
+            System.out.println( run.getSum() + " == 303" );
+
+            // test
+            assert run.getPeriod() == 2 : "Error in ReplicateRun::getPeriod()";
+            assert run.getSum() == 3 * 101 : "Error in ReplicateRun::getSum()";
+            assert run.getLast() == 3 : "Error in ReplicateRun::getLast()";
+            assert run.getSimulated() < 101 : "Error in ReplicateRun::getSimulated()";
+        }
+
+        // case 3: testing steps shorter than the time to detect the cycle
+        {
+            // set up
+            ReplicateRun full = ReplicateRun.of(board(engine, 9, 9, 0.4, Topology.FLAT, 7), 3, false);
+            ReplicateRun fast = ReplicateRun.of(board(engine, 9, 9, 0.4, Topology.FLAT, 7), 3, true);
+            ReplicateRun none = ReplicateRun.of(board(engine, 9, 9, 0.4, Topology.FLAT, 7), 0, true);
+
+            // test
+            assert fast.getSum() == full.getSum() && fast.getLast() == full.getLast() : "Error in ReplicateRun::of()";
+            assert none.getSum() == 0 && none.getSimulated() == 0 : "Error in ReplicateRun::of()";
+        }
+    }
+
+
+    public static void main(String[] args) {
+        LandscapeEngine[] engines = args.length > 0
+            ? new LandscapeEngine[]{ LandscapeEngine.parse(args[0]) }
+            : LandscapeEngine.values();
+
+        for (LandscapeEngine engine : engines) {
+            if (!engine.isBounded()) continue;
+            System.out.println("=== " + engine + " ===");
+            replicateRunTests(engine);
+        }
+    }
+}
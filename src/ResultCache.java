@@ -0,0 +1,185 @@
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Sweep results kept on disk between runs. The file is memory-mapped and
+ * holds fixed-size records, each a point's key (rule, topology, m, n,
+ * chance, steps, replicates, confidence half-width, seed) followed by its
+ * { average, deviation }, and after them an open-addressing hash index of
+ * the records:
+ *
+ *     header   magic (8 bytes), record count (4), record capacity (4), unused (16)
+ *     record   seed (8), chance bits (8), m, n, steps, replicates (4 each),
+ *              birth mask, survival mask (2 each), topology (1), unused (3),
+ *              average, deviation, half-width (8 each)
+ *     slot     high half of the key's hash (4), record number + 1 (4); 0 is empty
+ *
+ * There are twice as many slots as records fit, so a lookup probes a slot
+ * or two and compares the record's key, and opening the file reads nothing
+ * but the header. When the records fill up, the file doubles and the index
+ * is rebuilt behind the new record area before the header points to it.
+ * A record is written, then indexed, then counted, so a crash loses at
+ * most the result being written; a slot for an uncounted record is
+ * skipped by the key check.
+ *
+ * Exact results depend on neither replicates nor seed; store them with
+ * replicates 0 and seed 0. Adaptive points store their maximum replicates
+ * and the target half-width they were asked for, not the one they reached,
+ * since that target is all a later run knows when it looks them up; fixed
+ * points store 0. Opening takes an exclusive lock on the file, so a second
+ * program, or a second cache in the same program, gets an IOException
+ * instead of growing the same mapping underneath the first.
+ */
+public final class ResultCache implements AutoCloseable {
+    private static final long MAGIC = 0x4C49464552455332L; // "LIFERES2"
+    private static final int HEADER = 32, RECORD = 64, SLOT = 8, INITIAL_RECORDS = 1024;
+
+    private final FileChannel channel;
+    private MappedByteBuffer map;
+    private int count, capacity;
+
+    // Opens the cache file, creating it if needed; a file that isn't a cache is started over
+    public ResultCache(Path file) throws IOException {
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        boolean locked;
+        try {
+            // released when the channel closes
+            locked = channel.tryLock() != null;
+        } catch (OverlappingFileLockException e) {
+            locked = false;
+        }
+        if (!locked) {
+            channel.close();
+            throw new IOException(file + " is in use by another result cache");
+        }
+        long size = channel.size();
+        if (size >= HEADER) {
+            map = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            int records = map.getInt(12);
+            if (map.getLong(0) == MAGIC && records > 0 && Integer.bitCount(records) == 1 && fileSize(records) <= size) {
+                capacity = records;
+                count = Math.min(map.getInt(8), capacity);
+                return;
+            }
+        }
+        map = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize(INITIAL_RECORDS));
+        map.putLong(0, MAGIC);
+        map.putInt(8, 0);
+        index(INITIAL_RECORDS);
+    }
+
+    private static long fileSize(long records) {
+        return HEADER + records * (RECORD + 2 * SLOT);
+    }
+
+    private static long hash(Rule rule, Topology topology, int m, int n, double chance, int steps, int replicates,
+                             double halfWidth, long seed) {
+        long h = Seeds.mix(seed ^ Double.doubleToLongBits(chance));
+        h = Seeds.mix(h ^ ((long) m << 32 | n));
+        h = Seeds.mix(h ^ ((long) steps << 32 | replicates));
+        h = Seeds.mix(h ^ Double.doubleToLongBits(halfWidth));
+        return Seeds.mix(h ^ ((long) rule.getBirthMask() << 20 | rule.getSurvivalMask() << 8 | topology.ordinal()));
+    }
+
+    private boolean matches(int record, Rule rule, Topology topology, int m, int n, double chance, int steps, int replicates,
+                            double halfWidth, long seed) {
+        int at = HEADER + record * RECORD;
+        return map.getLong(at) == seed && map.getLong(at + 8) == Double.doubleToLongBits(chance)
+            && map.getInt(at + 16) == m && map.getInt(at + 20) == n
+            && map.getInt(at + 24) == steps && map.getInt(at + 28) == replicates
+            && map.getShort(at + 32) == rule.getBirthMask() && map.getShort(at + 34) == rule.getSurvivalMask()
+            && map.get(at + 36) == topology.ordinal()
+            && map.getLong(at + 56) == Double.doubleToLongBits(halfWidth);
+    }
+
+    // Offset of the slot holding the key's record, or of the empty slot where it would go
+    private int probe(long hash, Rule rule, Topology topology, int m, int n, double chance, int steps, int replicates,
+                      double halfWidth, long seed) {
+        int slots = 2 * capacity, base = HEADER + capacity * RECORD;
+        for (int i = (int) hash & (slots - 1); ; i = (i + 1) & (slots - 1)) {
+            long slot = map.getLong(base + i * SLOT);
+            if (slot == 0) return base + i * SLOT;
+            int record = (int) slot - 1;
+            if ((int) (slot >>> 32) == (int) (hash >>> 32) && record < count
+                && matches(record, rule, topology, m, n, chance, steps, replicates, halfWidth, seed))
+                return base + i * SLOT;
+        }
+    }
+
+    // Builds an index of the counted records behind room for records, then points the header at it
+    private void index(int records) {
+        int slots = 2 * records, base = HEADER + records * RECORD;
+        for (int i = 0; i < slots; i++)
+            map.putLong(base + i * SLOT, 0);
+        for (int record = 0; record < count; record++) {
+            int at = HEADER + record * RECORD;
+            long hash = hash(new Rule(map.getShort(at + 32), map.getShort(at + 34)), Topology.values()[map.get(at + 36)],
+                             map.getInt(at + 16), map.getInt(at + 20), Double.longBitsToDouble(map.getLong(at + 8)),
+                             map.getInt(at + 24), map.getInt(at + 28), Double.longBitsToDouble(map.getLong(at + 56)),
+                             map.getLong(at));
+            int i = (int) hash & (slots - 1);
+            while (map.getLong(base + i * SLOT) != 0)
+                i = (i + 1) & (slots - 1);
+            map.putLong(base + i * SLOT, (hash >>> 32) << 32 | (record + 1));
+        }
+        capacity = records;
+        map.putInt(12, capacity);
+    }
+
+    // Returns { average, deviation } for the point, or null if no run has stored it
+    public synchronized double[] get(Rule rule, Topology topology, int m, int n, double chance, int steps, int replicates,
+                                     double halfWidth, long seed) {
+        long hash = hash(rule, topology, m, n, chance, steps, replicates, halfWidth, seed);
+        long slot = map.getLong(probe(hash, rule, topology, m, n, chance, steps, replicates, halfWidth, seed));
+        if (slot == 0) return null;
+        int at = HEADER + ((int) slot - 1) * RECORD;
+        return new double[]{ map.getDouble(at + 40), map.getDouble(at + 48) };
+    }
+
+    public synchronized void put(Rule rule, Topology topology, int m, int n, double chance, int steps, int replicates,
+                                 double halfWidth, long seed, double[] result) throws IOException {
+        long hash = hash(rule, topology, m, n, chance, steps, replicates, halfWidth, seed);
+        if (map.getLong(probe(hash, rule, topology, m, n, chance, steps, replicates, halfWidth, seed)) != 0) return;
+        if (count == capacity) {
+            // mapping past the end of the file grows it; the old index becomes record space
+            if (fileSize(2L * capacity) > Integer.MAX_VALUE) throw new IOException("result cache is full");
+            map.force();
+            map = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileSize(2L * capacity));
+            index(2 * capacity);
+        }
+        int at = HEADER + count * RECORD;
+        map.putLong(at, seed);
+        map.putLong(at + 8, Double.doubleToLongBits(chance));
+        map.putInt(at + 16, m);
+        map.putInt(at + 20, n);
+        map.putInt(at + 24, steps);
+        map.putInt(at + 28, replicates);
+        map.putShort(at + 32, (short) rule.getBirthMask());
+        map.putShort(at + 34, (short) rule.getSurvivalMask());
+        map.put(at + 36, (byte) topology.ordinal());
+        map.putDouble(at + 40, result[0]);
+        map.putDouble(at + 48, result[1]);
+        map.putDouble(at + 56, halfWidth);
+        map.putLong(probe(hash, rule, topology, m, n, chance, steps, replicates, halfWidth, seed),
+                    (hash >>> 32) << 32 | (count + 1));
+        map.putInt(8, ++count);
+    }
+
+    public synchronized int size() {
+        return count;
+    }
+
+    // Writes the mapping back to the file; the operating system does so anyway once the process ends
+    public synchronized void force() {
+        map.force();
+    }
+
+    public synchronized void close() throws IOException {
+        map.force();
+        channel.close();
+    }
+}
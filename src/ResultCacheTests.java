@@ -0,0 +1,91 @@
+/*
+file name:      ResultCacheTests.java
+
+How to run:     java -ea ResultCacheTests
+
+*/
+
+//Note: this file is ready to run
+//Results stored by one run must be found by the next one that opens the file.
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class ResultCacheTests {
+
+    public static void main(String[] args) throws Exception {
+
+        // case 1: testing results survive closing and reopening the file, past the first mapping
+        {
+            // set up
+            Path file = Files.createTempFile("results", ".bin");
+            Rule highLife = Rule.parse("B36/S23");
+            try (ResultCache c1 = new ResultCache(file)) {
+                for (int i = 0; i < 3000; i++)
+                    c1.put(Rule.CONWAY, Topology.TORUS, i % 30, i / 30, 0.05 * (i % 21), 1024, 18, 0, 42, new double[]{ i, -i });
+                c1.put(highLife, Topology.FLAT, 3, 3, 0.35, 1024, 0, 0, 0, new double[]{ 1.5, 0.25 });
+            }
+            ResultCache c2 = new ResultCache(file);
+
+            // verify
+            System.out.println( c2.size() + " == " + 3001 );
+
+            // test
+            assert c2.size() == 3001 : "Error in ResultCache::size() after reopening";
+            double[] found = c2.get(Rule.CONWAY, Topology.TORUS, 2999 % 30, 2999 / 30, 0.05 * (2999 % 21), 1024, 18, 0, 42);
+            assert found != null && found[0] == 2999 && found[1] == -2999 : "Error in ResultCache::get()";
+            found = c2.get(highLife, Topology.FLAT, 3, 3, 0.35, 1024, 0, 0, 0);
+            assert found != null && found[0] == 1.5 && found[1] == 0.25 : "Error in ResultCache::get() for another rule";
+            assert c2.get(Rule.CONWAY, Topology.TORUS, 1, 0, 0.05, 1024, 18, 0, 43) == null : "Error in ResultCache::get() with another seed";
+            assert c2.get(Rule.CONWAY, Topology.TORUS, 1, 0, 0.05, 1024, 18, 0.01, 42) == null : "Error in ResultCache::get() with another half-width";
+            assert c2.get(Rule.CONWAY, Topology.FLAT, 1, 0, 0.05, 1024, 18, 0, 42) == null : "Error in ResultCache::get() with another topology";
+            // the index read back from the file takes new results too
+            c2.put(Rule.CONWAY, Topology.FLAT, 1, 0, 0.05, 1024, 18, 0, 42, new double[]{ 7, 8 });
+            c2.put(Rule.CONWAY, Topology.FLAT, 1, 0, 0.05, 1024, 18, 0, 42, new double[]{ 9, 9 });
+            assert c2.size() == 3002 && c2.get(Rule.CONWAY, Topology.FLAT, 1, 0, 0.05, 1024, 18, 0, 42)[0] == 7 : "Error in ResultCache::put() after reopening";
+            assert c2.get(Rule.CONWAY, Topology.TORUS, 1, 0, 0.05, 1024, 18, 0, 42)[0] == 1 : "Error in ResultCache::get() after put()";
+            c2.close();
+            new File(file.toString()).delete();
+        }
+
+        // case 2: testing a file that isn't a cache is started over
+        {
+            // set up
+            Path file = Files.createTempFile("results", ".bin");
+            Files.write(file, new byte[100]);
+            ResultCache cache = new ResultCache(file);
+
+            // verify
+            System.out.println( cache.size() + " == 0" );
+
+            // test
+            assert cache.size() == 0 : "Error in ResultCache with a foreign file";
+            cache.close();
+            new File(file.toString()).delete();
+        }
+
+        // case 3: testing a file another cache has open is refused
+        {
+            // set up
+            Path file = Files.createTempFile("results", ".bin");
+            ResultCache first = new ResultCache(file);
+            boolean refused = false;
+            try {
+                new ResultCache(file).close();
+            } catch (IOException e) {
+                refused = true;
+            }
+
+            // verify
+            System.out.println( refused + " == true" );
+
+            // test
+            assert refused : "Error in ResultCache opening a file already open";
+            first.close();
+            new ResultCache(file).close();
+            new File(file.toString()).delete();
+        }
+    }
+}
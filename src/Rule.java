@@ -0,0 +1,121 @@
+/**
+ * An outer-totalistic birth/survival rule such as B3/S23 (Conway) or
+ * B36/S23 (HighLife). Bit n of the birth mask is set when a dead cell with
+ * n live neighbors is born; bit n of the survival mask when a live cell
+ * with n live neighbors stays alive.
+ */
+public final class Rule {
+    public static final Rule CONWAY = new Rule(1 << 3, (1 << 2) | (1 << 3));
+
+    private final int birth, survival;
+
+    public Rule(int birthMask, int survivalMask) {
+        if ((birthMask & ~0x1FF) != 0 || (survivalMask & ~0x1FF) != 0)
+            throw new IllegalArgumentException("neighbor counts must be between 0 and 8");
+        this.birth = birthMask;
+        this.survival = survivalMask;
+    }
+
+    /**
+     * Parses a rulestring: "B36/S23", "b3/s23", "S23/B3", "B3S23", or the
+     * older survival/birth form "23/3".
+     */
+    public static Rule parse(String rulestring) {
+        String s = rulestring.trim().toUpperCase();
+        if (s.indexOf('B') < 0 && s.indexOf('S') < 0) {
+            // survival/birth
+            int slash = s.indexOf('/');
+            if (slash < 0) throw new IllegalArgumentException("Not a rulestring: " + rulestring);
+            return new Rule(counts(s.substring(slash + 1), rulestring), counts(s.substring(0, slash), rulestring));
+        }
+
+        int birth = 0, survival = 0;
+        boolean seenBirth = false, seenSurvival = false;
+        int i = 0;
+        while (i < s.length()) {
+            char section = s.charAt(i++);
+            int end = i;
+            while (end < s.length() && Character.isDigit(s.charAt(end))) end++;
+            int mask = counts(s.substring(i, end), rulestring);
+            if (section == 'B' && !seenBirth) {
+                birth = mask;
+                seenBirth = true;
+            } else if (section == 'S' && !seenSurvival) {
+                survival = mask;
+                seenSurvival = true;
+            } else {
+                throw new IllegalArgumentException("Not a rulestring: " + rulestring);
+            }
+            i = end;
+            if (i < s.length() && s.charAt(i) == '/') i++;
+        }
+        if (!seenBirth || !seenSurvival) throw new IllegalArgumentException("Not a rulestring: " + rulestring);
+        return new Rule(birth, survival);
+    }
+
+    private static int counts(String digits, String rulestring) {
+        int mask = 0;
+        for (char c : digits.toCharArray()) {
+            if (c < '0' || c > '8') throw new IllegalArgumentException("Not a rulestring: " + rulestring);
+            mask |= 1 << (c - '0');
+        }
+        return mask;
+    }
+
+    public int getBirthMask() {
+        return birth;
+    }
+
+    public int getSurvivalMask() {
+        return survival;
+    }
+
+    public boolean isConway() {
+        return equals(CONWAY);
+    }
+
+    // Whether a cell with no live neighbors is born, which no unbounded plane can hold
+    public boolean birthOnZero() {
+        return (birth & 1) != 0;
+    }
+
+    // Returns the next state of a cell with the given number of live neighbors
+    public boolean next(boolean alive, int liveNeighbors) {
+        return (((alive ? survival : birth) >>> liveNeighbors) & 1) != 0;
+    }
+
+    /**
+     * Next states indexed by (liveNeighbors << 1) | alive, for engines that
+     * keep cells as 0/1 bytes and want one load per cell.
+     */
+    public byte[] transitionTable() {
+        byte[] table = new byte[18];
+        for (int count = 0; count <= 8; count++) {
+            table[count << 1] = (byte) (next(false, count) ? 1 : 0);
+            table[(count << 1) | 1] = (byte) (next(true, count) ? 1 : 0);
+        }
+        return table;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Rule && ((Rule) o).birth == birth && ((Rule) o).survival == survival;
+    }
+
+    @Override
+    public int hashCode() {
+        return birth * 512 + survival;
+    }
+
+    // Canonical B/S notation, e.g. "B36/S23"
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("B");
+        for (int n = 0; n <= 8; n++)
+            if (((birth >>> n) & 1) != 0) sb.append(n);
+        sb.append("/S");
+        for (int n = 0; n <= 8; n++)
+            if (((survival >>> n) & 1) != 0) sb.append(n);
+        return sb.toString();
+    }
+}
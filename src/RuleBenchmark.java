@@ -0,0 +1,76 @@
+/*
+file name:      RuleBenchmark.java
+
+How to run:     java --add-modules jdk.incubator.vector RuleBenchmark [size] [generations]
+                defaults: 1024 x 1024 board, 256 generations
+*/
+
+//Times what a rule costs once it is a parameter instead of hard-coded B3/S23.
+//The dense rows compare a fixed (count | alive) == 3 kernel with the rule table kernels;
+//the packed rows compare the fixed B3/S23 expression with the precomputed combiner under HighLife.
+
+public class RuleBenchmark {
+
+    // The B3/S23 row kernel as it was before rules were parameters
+    private static final class FixedConway extends DenseKernel {
+        public long advanceRow(byte[] c, byte[] n, int start, int end, int s) {
+            int born = 0, died = 0;
+            for (int i = start; i < end; i++) {
+                int count = c[i - s - 1] + c[i - s] + c[i - s + 1]
+                          + c[i - 1]                + c[i + 1]
+                          + c[i + s - 1] + c[i + s] + c[i + s + 1];
+                int alive = c[i], value = (count | alive) == 3 ? 1 : 0;
+                n[i] = (byte) value;
+                born += value & ~alive;
+                died += alive & ~value;
+            }
+            return changes(born, died);
+        }
+
+        public String describe() {
+            return "Fixed B3/S23 kernel";
+        }
+    }
+
+    private static double time(AbstractLandscape landscape, AbstractLandscape start, int generations) {
+        for (int i = 0; i < start.getRows(); i++)
+            for (int j = 0; j < start.getCols(); j++)
+                landscape.setAlive(i, j, start.getAlive(i, j));
+
+        // warm up before timing, then keep the best of three runs, so a late recompile is not charged to one kernel
+        landscape.advance(Math.min(generations, 16));
+
+        double best = Double.POSITIVE_INFINITY;
+        for (int run = 0; run < 3; run++) {
+            long begin = System.nanoTime();
+            landscape.advance(generations);
+            best = Math.min(best, (System.nanoTime() - begin) / 1e9);
+        }
+        return best;
+    }
+
+    private static void report(String name, double seconds, double baseline, int size, int generations) {
+        System.out.printf("%-30s %.3f s, %.1f Mcells/s, %.2fx vs fixed%n", name, seconds,
+            (double) size * size * generations / seconds / 1e6, baseline / seconds);
+    }
+
+    public static void main(String[] args) {
+        int size = args.length >= 1 ? Integer.parseInt(args[0]) : 1024;
+        int generations = args.length >= 2 ? Integer.parseInt(args[1]) : 256;
+        Rule highLife = Rule.parse("B36/S23");
+
+        DenseLandscape start = new DenseLandscape(size, size, 0.3);
+        System.out.println(size + "x" + size + " board, " + generations + " generations");
+
+        double fixed = time(new DenseLandscape(size, size, 0., Rule.CONWAY, Topology.FLAT, new FixedConway(), null), start, generations);
+        report("dense, fixed B3/S23", fixed, fixed, size, generations);
+        report("dense, scalar " + Rule.CONWAY, time(new DenseLandscape(size, size, 0., Rule.CONWAY, Topology.FLAT, DenseKernel.scalar(Rule.CONWAY), null), start, generations), fixed, size, generations);
+        report("dense, scalar " + highLife, time(new DenseLandscape(size, size, 0., highLife, Topology.FLAT, DenseKernel.scalar(highLife), null), start, generations), fixed, size, generations);
+        report("dense, best " + highLife, time(new DenseLandscape(size, size, 0., highLife, Topology.FLAT, DenseKernel.best(highLife), null), start, generations), fixed, size, generations);
+        System.out.println(DenseKernel.best(highLife).describe());
+
+        double packed = time(new PackedLandscape(size, size, 0., Rule.CONWAY), start, generations);
+        report("packed, fixed B3/S23", packed, packed, size, generations);
+        report("packed, combiner " + highLife, time(new PackedLandscape(size, size, 0., highLife), start, generations), packed, size, generations);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+file name:      RuleTests.java
+
+How to run:     java -ea RuleTests
+*/
+
+//Note: this file is ready to run
+
+public class RuleTests {
+
+    public static void ruleTests() {
+
+        // case 1: testing parse() on the accepted notations
+        {
+            // set up
+            String[] conway = { "B3/S23", "b3/s23", "S23/B3", "B3S23", "23/3", " B3/S23 " };
+
+            // verify
+            for (String s : conway)
+                System.out.println( Rule.parse( s ) + " == B3/S23" );
+
+            // test
+            for (String s : conway)
+                assert Rule.parse( s ).equals( Rule.CONWAY ) : "Error in Rule::parse(" + s + ")";
+            assert Rule.parse( "B36/S23" ).getBirthMask() == ((1 << 3) | (1 << 6)) : "Error in Rule::parse()";
+            assert Rule.parse( "B2/S" ).getSurvivalMask() == 0 : "Error in Rule::parse()";
+        }
+
+        // case 2: testing toString() gives the canonical form
+        {
+            // set up
+            Rule r1 = Rule.parse( "s34678/b3678" );
+            Rule r2 = Rule.parse( "B0/S8" );
+
+            // verify
+            System.out.println( r1 + " == B3678/S34678" );
+            System.out.println( r2 + " == B0/S8" );
+
+            // test
+            assert r1.toString().equals( "B3678/S34678" ) : "Error in Rule::toString()";
+            assert r2.toString().equals( "B0/S8" ) : "Error in Rule::toString()";
+            assert Rule.parse( r1.toString() ).equals( r1 ) : "Error in Rule::toString()";
+        }
+
+        // case 3: testing parse() rejects malformed rulestrings
+        {
+            // set up
+            String[] bad = { "", "B3", "B9/S23", "B3/S23/B3", "X3/S23", "23" };
+
+            // test
+            for (String s : bad) {
+                boolean thrown = false;
+                try {
+                    Rule.parse( s );
+                } catch (IllegalArgumentException e) {
+                    thrown = true;
+                }
+                System.out.println( "\"" + s + "\" rejected: " + thrown );
+                assert thrown : "Error in Rule::parse(" + s + ")";
+            }
+        }
+
+        // case 4: testing next() and transitionTable()
+        {
+            // set up
+            Rule highLife = Rule.parse( "B36/S23" );
+            byte[] table = highLife.transitionTable();
+
+            // verify
+            System.out.println( highLife.next( false, 6 ) + " == true" );
+            System.out.println( Rule.CONWAY.next( false, 6 ) + " == false" );
+
+            // test
+            assert highLife.next( false, 6 ) : "Error in Rule::next()";
+            assert !Rule.CONWAY.next( false, 6 ) : "Error in Rule::next()";
+            for (int count = 0; count <= 8; count++) {
+                assert table[count << 1] == (highLife.next( false, count ) ? 1 : 0) : "Error in Rule::transitionTable()";
+                assert table[(count << 1) | 1] == (highLife.next( true, count ) ? 1 : 0) : "Error in Rule::transitionTable()";
+            }
+            assert Rule.parse( "B0/S" ).birthOnZero() && !highLife.birthOnZero() : "Error in Rule::birthOnZero()";
+        }
+    }
+
+
+    public static void main(String[] args) {
+        ruleTests();
+    }
+}
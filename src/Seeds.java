@@ -0,0 +1,45 @@
+import java.util.SplittableRandom;
+
+/**
+ * Random streams for a sweep, all derived from one master seed. The seed of
+ * a stream is a hash of the master seed and the stream's coordinates (board
+ * size, chance, replicate), not the next value of a shared generator, so a
+ * replicate draws the same board whatever thread runs it and in whatever
+ * order. Each stream is its own SplittableRandom: no thread ever contends
+ * on another's state.
+ */
+public final class Seeds {
+    private static final long GOLDEN = 0x9E3779B97F4A7C15L;
+
+    private Seeds() {
+    }
+
+    // A master seed for sweeps that were not given one; print it to repeat the sweep
+    public static long fresh() {
+        return new SplittableRandom().nextLong();
+    }
+
+    // The stream of one replicate of an m x n board at the given chance
+    public static SplittableRandom replicate(long master, int rows, int columns, double chance, int replicate) {
+        long h = mix(master);
+        h = mix(h ^ mix(rows + GOLDEN));
+        h = mix(h ^ mix(columns + 2 * GOLDEN));
+        h = mix(h ^ mix(Double.doubleToLongBits(chance) + 3 * GOLDEN));
+        h = mix(h ^ mix(replicate + 4 * GOLDEN));
+        return new SplittableRandom(h);
+    }
+
+    // SplitMix64's finalizer: every input bit affects every output bit
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // Accepts decimal or 0x-prefixed hexadecimal seeds
+    public static long parse(String seed) {
+        String s = seed.trim();
+        if (s.startsWith("0x") || s.startsWith("0X")) return Long.parseUnsignedLong(s.substring(2), 16);
+        return Long.parseLong(s);
+    }
+}
@@ -0,0 +1,207 @@
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Landscape engine for an unbounded plane that only stores live cells.
+ * Each live cell is a (row, col) pair packed into one long and kept in a
+ * primitive open-addressing table, so memory and time per generation
+ * follow the population instead of the board size. rows x columns is only
+ * the window that reset() fills and getCell()/toString() show.
+ *
+ * Rules where cells are born with no neighbors (B0) would fill the whole
+ * plane, so they are rejected.
+ */
+public class SparseLandscape extends AbstractLandscape {
+    private LongIntMap live = new LongIntMap(64), nextLive = new LongIntMap(64);
+    private final LongIntMap counts = new LongIntMap(64);
+
+    public SparseLandscape(int rows, int columns) {
+        this(rows, columns, 0.5);
+    }
+
+    public SparseLandscape(int rows, int columns, double chance) {
+        this(rows, columns, chance, Rule.CONWAY);
+    }
+
+    public SparseLandscape(int rows, int columns, double chance, Rule rule) {
+        super(rows, columns, chance, rule);
+        if (rule.birthOnZero())
+            throw new IllegalArgumentException("SparseLandscape cannot run B0 rules: " + rule);
+        reset();
+    }
+
+    static long pack(int row, int col) {
+        return ((long) row << 32) | (col & 0xFFFFFFFFL);
+    }
+
+    public boolean getAlive(int row, int col) {
+        return live.get(pack(row, col)) != 0;
+    }
+
+    public void setAlive(int row, int col, boolean alive) {
+        if (alive) live.put(pack(row, col), 1);
+        else live.remove(pack(row, col));
+        population = live.size();
+    }
+
+    public void reset(RandomGenerator rand) {
+        live.clear();
+        clearCounters();
+        Bernoulli bernoulli = new Bernoulli(rand, initialChance);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                if (bernoulli.next()) live.put(pack(i, j), 1);
+            }
+        }
+        population = live.size();
+    }
+
+    public void advance() {
+        // every live cell adds one to each of its eight neighbors
+        counts.clear();
+        long[] keys = live.keys;
+        if (rule.next(true, 0)) {
+            // with S0 an isolated cell survives, so it needs an entry even with no neighbors
+            for (long key : keys)
+                if (key != LongIntMap.EMPTY) counts.touch(key);
+        }
+        for (long key : keys) {
+            if (key == LongIntMap.EMPTY) continue;
+            int row = (int) (key >> 32), col = (int) key;
+            for (int i = -1; i <= 1; i++) {
+                for (int j = -1; j <= 1; j++) {
+                    if (i != 0 || j != 0) counts.increment(pack(row + i, col + j));
+                }
+            }
+        }
+
+        // without B0, only cells with a count entry can be alive next generation
+        nextLive.clear();
+        long[] countKeys = counts.keys;
+        int[] countValues = counts.values;
+        int born = 0, survived = 0;
+        for (int k = 0; k < countKeys.length; k++) {
+            long key = countKeys[k];
+            if (key == LongIntMap.EMPTY) continue;
+            boolean alive = live.get(key) != 0;
+            if (rule.next(alive, countValues[k])) {
+                nextLive.put(key, 1);
+                if (alive) survived++;
+                else born++;
+            }
+        }
+
+        // live cells without a count entry have no live neighbor and no S0, so they die
+        int died = live.size() - survived;
+        LongIntMap swap = live;
+        live = nextLive;
+        nextLive = swap;
+        recordGeneration(born, died);
+    }
+
+    /**
+     * Open-addressing map from long to int with linear probing. EMPTY marks a
+     * free slot, so the cell (Integer.MIN_VALUE, 0) cannot be stored.
+     */
+    static final class LongIntMap {
+        static final long EMPTY = Long.MIN_VALUE;
+
+        long[] keys;
+        int[] values;
+        private int size, mask;
+
+        LongIntMap(int capacity) {
+            int length = Integer.highestOneBit(Math.max(capacity, 4) - 1) << 1;
+            keys = new long[length];
+            values = new int[length];
+            mask = length - 1;
+            Arrays.fill(keys, EMPTY);
+        }
+
+        int size() {
+            return size;
+        }
+
+        void clear() {
+            if (size == 0) return;
+            Arrays.fill(keys, EMPTY);
+            size = 0;
+        }
+
+        private static int hash(long key) {
+            key ^= key >>> 33;
+            key *= 0xff51afd7ed558ccdL;
+            key ^= key >>> 33;
+            return (int) key;
+        }
+
+        // Returns the slot holding key, or the free slot where it belongs
+        private int slot(long key) {
+            int i = hash(key) & mask;
+            while (keys[i] != EMPTY && keys[i] != key)
+                i = (i + 1) & mask;
+            return i;
+        }
+
+        int get(long key) {
+            int i = slot(key);
+            return keys[i] == EMPTY ? 0 : values[i];
+        }
+
+        void put(long key, int value) {
+            int i = slot(key);
+            if (keys[i] == EMPTY) {
+                keys[i] = key;
+                size++;
+                values[i] = value;
+                if (size > (mask + 1) >>> 1) grow();
+            } else {
+                values[i] = value;
+            }
+        }
+
+        // Adds key with value 0 if it is missing
+        void touch(long key) {
+            if (keys[slot(key)] == EMPTY) put(key, 0);
+        }
+
+        void increment(long key) {
+            int i = slot(key);
+            if (keys[i] == EMPTY) put(key, 1);
+            else values[i]++;
+        }
+
+        // Removes key, shifting later entries of its probe run back into the gap
+        void remove(long key) {
+            int i = slot(key);
+            if (keys[i] == EMPTY) return;
+            size--;
+            int gap = i;
+            for (int j = (gap + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+                int home = hash(keys[j]) & mask;
+                // move the entry if its home is not between the gap and its slot
+                if (((j - home) & mask) >= ((j - gap) & mask)) {
+                    keys[gap] = keys[j];
+                    values[gap] = values[j];
+                    gap = j;
+                }
+            }
+            keys[gap] = EMPTY;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            keys = new long[oldKeys.length << 1];
+            values = new int[oldKeys.length << 1];
+            mask = keys.length - 1;
+            Arrays.fill(keys, EMPTY);
+            for (int k = 0; k < oldKeys.length; k++) {
+                if (oldKeys[k] == EMPTY) continue;
+                int i = slot(oldKeys[k]);
+                keys[i] = oldKeys[k];
+                values[i] = oldValues[k];
+            }
+        }
+    }
+}
@@ -0,0 +1,221 @@
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * The whole transition function of a board with at most MAX_CELLS cells:
+ * next[s] is the generation after state s, where s holds cell (r, c) in bit
+ * r * columns + c as in WordBoard. The table is built in parallel and can be
+ * cached on disk, one file per rule, topology and size.
+ *
+ * sums(steps) follows every start state once and adds up the populations of
+ * generations 1 .. steps, grouped by the start state's population. A random
+ * board with chance p is state s with probability p^k (1 - p)^(cells - k)
+ * for k = popcount(s), so any chance is then answered exactly from those
+ * groups without running a single replicate.
+ */
+public final class StateSpace {
+    public static final int MAX_CELLS = 25;
+    private static final int MAGIC = 0x4C494645; // "LIFE"
+    private static final int CHUNK = 1 << 16;
+
+    private final int rows, columns, cells;
+    private final Rule rule;
+    private final Topology topology;
+    private final int[] next;
+
+    private StateSpace(int rows, int columns, Rule rule, Topology topology, int[] next) {
+        this.rows = rows;
+        this.columns = columns;
+        this.cells = rows * columns;
+        this.rule = rule;
+        this.topology = topology;
+        this.next = next;
+    }
+
+    public static boolean fits(int rows, int columns) {
+        return rows >= 1 && columns >= 1 && rows * columns <= MAX_CELLS;
+    }
+
+    public static StateSpace build(int rows, int columns, Rule rule, Topology topology) {
+        if (!fits(rows, columns))
+            throw new IllegalArgumentException(rows + "x" + columns + " has more than " + MAX_CELLS + " cells");
+        WordBoard board = new WordBoard(rows, columns, rule, topology);
+        int[] next = new int[1 << (rows * columns)];
+        IntStream.range(0, next.length).parallel().forEach(s -> next[s] = (int) board.next(s));
+        return new StateSpace(rows, columns, rule, topology, next);
+    }
+
+    /**
+     * Reads the table from directory if an earlier run saved it there, and
+     * otherwise builds it and saves it. A file that can't be read or written
+     * only costs a rebuild.
+     */
+    public static StateSpace load(int rows, int columns, Rule rule, Topology topology, File directory) {
+        File file = new File(directory, fileName(rows, columns, rule, topology));
+        if (file.isFile()) {
+            try {
+                int[] next = read(file, rows, columns, rule, topology);
+                if (next != null) return new StateSpace(rows, columns, rule, topology, next);
+            } catch (IOException e) {
+                System.err.println("Error reading state space " + file + ": " + e.getMessage());
+            }
+        }
+        StateSpace space = build(rows, columns, rule, topology);
+        try {
+            space.save(file);
+        } catch (IOException e) {
+            System.err.println("Error saving state space " + file + ": " + e.getMessage());
+        }
+        return space;
+    }
+
+    static String fileName(int rows, int columns, Rule rule, Topology topology) {
+        return rule.toString().replace("/", "") + "_" + topology.label() + "_" + rows + "x" + columns + ".bin";
+    }
+
+    // Header of seven ints, then the table; written next to the target and moved into place
+    private void save(File file) throws IOException {
+        File directory = file.getAbsoluteFile().getParentFile();
+        if (!directory.exists()) directory.mkdirs();
+        File temp = File.createTempFile(file.getName(), ".tmp", directory);
+        try (FileChannel channel = new RandomAccessFile(temp, "rw").getChannel()) {
+            ByteBuffer buffer = ByteBuffer.allocate(4 * CHUNK);
+            buffer.asIntBuffer().put(header(rows, columns, rule, topology));
+            buffer.limit(4 * 7);
+            channel.write(buffer);
+            for (int from = 0; from < next.length; from += CHUNK) {
+                int length = Math.min(CHUNK, next.length - from);
+                buffer.clear();
+                buffer.asIntBuffer().put(next, from, length);
+                buffer.limit(4 * length);
+                while (buffer.hasRemaining()) channel.write(buffer);
+            }
+        }
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Returns null if the file holds a different table
+    private static int[] read(File file, int rows, int columns, Rule rule, Topology topology) throws IOException {
+        int[] next = new int[1 << (rows * columns)];
+        try (FileChannel channel = new RandomAccessFile(file, "r").getChannel()) {
+            if (channel.size() != 4L * (7 + next.length)) return null;
+            ByteBuffer buffer = ByteBuffer.allocate(4 * CHUNK);
+            buffer.limit(4 * 7);
+            readFully(channel, buffer);
+            int[] expected = header(rows, columns, rule, topology), found = new int[7];
+            buffer.flip();
+            buffer.asIntBuffer().get(found);
+            if (!Arrays.equals(expected, found)) return null;
+            for (int from = 0; from < next.length; from += CHUNK) {
+                int length = Math.min(CHUNK, next.length - from);
+                buffer.clear();
+                buffer.limit(4 * length);
+                readFully(channel, buffer);
+                buffer.flip();
+                buffer.asIntBuffer().get(next, from, length);
+            }
+        }
+        return next;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining())
+            if (channel.read(buffer) < 0) throw new IOException("unexpected end of file");
+    }
+
+    private static int[] header(int rows, int columns, Rule rule, Topology topology) {
+        return new int[]{ MAGIC, rows, columns, rule.getBirthMask(), rule.getSurvivalMask(), topology.ordinal(), 1 };
+    }
+
+    public int next(int state) {
+        return next[state];
+    }
+
+    public Sums sums(int steps) {
+        int chunks = (next.length + CHUNK - 1) / CHUNK;
+        return IntStream.range(0, chunks).parallel()
+            .mapToObj(chunk -> sumChunk(chunk * CHUNK, Math.min(next.length, (chunk + 1) * CHUNK), steps))
+            .reduce(Sums::add)
+            .get();
+    }
+
+    private Sums sumChunk(int from, int to, int steps) {
+        Sums sums = new Sums(cells, steps);
+        int[] counts = new int[steps + 1];
+        for (int s = from; s < to; s++) {
+            long total = generationSum(s, steps, counts);
+            int k = Integer.bitCount(s);
+            sums.total[k] += total;
+            sums.squares[k] += (double) total * total;
+        }
+        return sums;
+    }
+
+    // Sum of the populations of generations 1 .. steps from state, stopping at the first cycle like ReplicateRun
+    private long generationSum(int state, int steps, int[] counts) {
+        long sum = 0;
+        int x = state, saved = state, power = 1, lambda = 0;
+        for (int t = 1; t <= steps; t++) {
+            x = next[x];
+            counts[t] = Integer.bitCount(x);
+            sum += counts[t];
+            lambda++;
+            if (x == saved) return sum + ReplicateRun.remainingSum(counts, t, lambda, steps);
+            if (lambda == power) {
+                saved = x;
+                power <<= 1;
+                lambda = 0;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Per start population k: the sum over all start states with k live cells
+     * of their generation sums, and of the squares of those sums.
+     */
+    public static final class Sums {
+        private final int cells, steps;
+        private final long[] total;
+        private final double[] squares;
+
+        Sums(int cells, int steps) {
+            this.cells = cells;
+            this.steps = steps;
+            total = new long[cells + 1];
+            squares = new double[cells + 1];
+        }
+
+        Sums add(Sums other) {
+            for (int k = 0; k <= cells; k++) {
+                total[k] += other.total[k];
+                squares[k] += other.squares[k];
+            }
+            return this;
+        }
+
+        /**
+         * The mean and the standard deviation, over random start boards with
+         * the given chance, of a replicate's average population over steps
+         * generations.
+         */
+        public double[] averageAndDeviation(double chance) {
+            double mean = 0, meanSquare = 0;
+            for (int k = 0; k <= cells; k++) {
+                double weight = Math.pow(chance, k) * Math.pow(1 - chance, cells - k);
+                mean += weight * total[k];
+                meanSquare += weight * squares[k];
+            }
+            mean /= steps;
+            meanSquare /= (double) steps * steps;
+            return new double[]{ mean, Math.sqrt(Math.max(0, meanSquare - mean * mean)) };
+        }
+    }
+}
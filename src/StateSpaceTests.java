@@ -0,0 +1,110 @@
+/*
+file name:      StateSpaceTests.java
+
+How to run:     java -ea StateSpaceTests
+
+*/
+
+//Note: this file is ready to run
+//WordBoard must agree with the Cell engine, and the exact averages of
+//StateSpace with full runs over every start board.
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Random;
+
+public class StateSpaceTests {
+
+    private static final Rule[] RULES = { Rule.CONWAY, Rule.parse("B36/S23"), Rule.parse("B3/S023"), Rule.parse("B0/S8") };
+
+    // the board of a landscape as a WordBoard state
+    private static long state(AbstractLandscape l, WordBoard board) {
+        long s = 0;
+        for (int i = 0; i < l.getRows(); i++)
+            for (int j = 0; j < l.getCols(); j++)
+                if (l.getAlive(i, j)) s |= 1L << board.bit(i, j);
+        return s;
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        // case 1: testing WordBoard::next() against the Cell engine
+        {
+            // set up
+            Random rand = new Random(11);
+            for (Rule rule : RULES) {
+                for (Topology topology : Topology.values()) {
+                    for (int m = 1; m <= 8; m++) {
+                        for (int n = 1; n <= 8; n++) {
+                            WordBoard board = new WordBoard(m, n, rule, topology);
+                            AbstractLandscape l = LandscapeEngine.CELL.create(m, n, 0., rule, topology);
+                            for (int i = 0; i < m; i++)
+                                for (int j = 0; j < n; j++)
+                                    l.setAlive(i, j, rand.nextBoolean());
+                            long s = state(l, board);
+                            for (int t = 0; t < 8; t++) {
+                                s = board.next(s);
+                                l.advance();
+
+                                // test
+                                assert s == state(l, board) : "Error in WordBoard::next() on " + m + "x" + n + " " + rule + " " + topology;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        // case 2: testing the exact average against full runs from every start board
+        {
+            // set up
+            int steps = 40;
+            for (Topology topology : Topology.values()) {
+                for (int[] size : new int[][]{ {3, 3}, {2, 5}, {4, 3}, {1, 7} }) {
+                    int m = size[0], n = size[1], cells = m * n;
+                    StateSpace.Sums sums = StateSpace.build(m, n, Rule.CONWAY, topology).sums(steps);
+                    WordBoard board = new WordBoard(m, n, Rule.CONWAY, topology);
+                    for (double chance : new double[]{ 0.1, 0.35, 0.5, 0.9 }) {
+                        double mean = 0, meanSquare = 0;
+                        for (int s = 0; s < 1 << cells; s++) {
+                            AbstractLandscape l = LandscapeEngine.PACKED.create(m, n, 0., Rule.CONWAY, topology);
+                            for (int i = 0; i < m; i++)
+                                for (int j = 0; j < n; j++)
+                                    l.setAlive(i, j, (s >>> board.bit(i, j) & 1) != 0);
+                            double a = (double) ReplicateRun.of(l, steps, false).getSum() / steps;
+                            int k = Integer.bitCount(s);
+                            double weight = Math.pow(chance, k) * Math.pow(1 - chance, cells - k);
+                            mean += weight * a;
+                            meanSquare += weight * a * a;
+                        }
+                        double[] exact = sums.averageAndDeviation(chance);
+
+                        // test
+                        assert Math.abs(exact[0] - mean) < 1e-9 : "Error in StateSpace.Sums::averageAndDeviation() mean on " + m + "x" + n + " " + topology;
+                        assert Math.abs(exact[1] - Math.sqrt(meanSquare - mean * mean)) < 1e-6 : "Error in StateSpace.Sums::averageAndDeviation() deviation on " + m + "x" + n + " " + topology;
+                    }
+                }
+            }
+        }
+
+        // case 3: testing the disk cache gives back the same table
+        {
+            // set up
+            File directory = Files.createTempDirectory("state_space").toFile();
+            StateSpace built = StateSpace.load(3, 4, Rule.parse("B36/S23"), Topology.TORUS, directory);
+            File file = new File(directory, StateSpace.fileName(3, 4, Rule.parse("B36/S23"), Topology.TORUS));
+            StateSpace loaded = StateSpace.load(3, 4, Rule.parse("B36/S23"), Topology.TORUS, directory);
+
+            // verify
+            System.out.println( file.getName() + " " + file.length() + " bytes" );
+
+            // test
+            assert file.isFile() && file.length() == 4 * (7 + (1 << 12)) : "Error in StateSpace::load() saving";
+            for (int s = 0; s < 1 << 12; s++)
+                assert built.next(s) == loaded.next(s) : "Error in StateSpace::load() reading";
+
+            file.delete();
+            directory.delete();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/**
+ * The size x chance sweep without any user interface: for an m x n board
+ * and a chance, runs 2 * m * n replicates for steps generations and reports
+ * the average number of living cells per generation. LifeSimulation charts
+ * its points and SweepRunner prints them; neither JavaFX nor any other
+ * toolkit is loaded from here.
+ *
+ * Every replicate draws its board from Seeds.replicate(seed, m, n, chance,
+ * replicate), so a point is the same whichever thread computes it.
+ */
+public final class Sweep {
+    public static final int CHANCES = 20; // chances i * 0.05 for i = 0 .. CHANCES
+    public static final int CHUNK = 16; // replicates summarized together before merging
+
+    private final LandscapeEngine engine;
+    private final Rule rule;
+    private final Topology topology;
+    private final int steps;
+    private final long seed;
+
+    public Sweep(LandscapeEngine engine, Rule rule, Topology topology, int steps, long seed) {
+        this.engine = engine;
+        this.rule = rule;
+        this.topology = topology;
+        this.steps = steps;
+        this.seed = seed;
+    }
+
+    public static double chance(int i) {
+        return i * 0.05;
+    }
+
+    public static int replicates(int m, int n) {
+        return 2 * m * n;
+    }
+
+    public LandscapeEngine getEngine() {
+        return engine;
+    }
+
+    public Rule getRule() {
+        return rule;
+    }
+
+    public Topology getTopology() {
+        return topology;
+    }
+
+    public int getSteps() {
+        return steps;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Returns { the average number of living cells per generation over all
+     * replicates, the standard deviation of the replicates' own averages }.
+     */
+    public double[] point(int m, int n, double chance) {
+        Welford averages = replicates(m, n, chance, 0, replicates(m, n));
+        return new double[]{ averages.getMean(), averages.deviation() };
+    }
+
+    /**
+     * Runs replicates from .. to - 1 of a point. Each chunk of CHUNK
+     * replicates is summarized apart and merged in order, so any ranges on
+     * CHUNK boundaries merged in order give the same bits as the whole.
+     */
+    public Welford replicates(int m, int n, double chance, int from, int to) {
+        Welford averages = new Welford();
+        for (int chunk = from; chunk < to; chunk += CHUNK) {
+            Welford part = new Welford();
+            for (int rep = chunk; rep < Math.min(to, chunk + CHUNK); rep++) {
+                // every bounded engine gives the same generations, so boards of one word use the word kernel
+                AbstractLandscape landscape = engine.isBounded() && WordLandscape.fits(m, n)
+                    ? new WordLandscape(m, n, chance, rule, topology)
+                    : engine.create(m, n, chance, rule, topology);
+                landscape.reset(Seeds.replicate(seed, m, n, chance, rep));
+                // bounded boards stop early once they cycle; the sum is the same
+                part.add(ReplicateRun.of(landscape, steps, engine.isBounded()).getSum() / (double) steps);
+            }
+            averages.merge(part);
+        }
+        return averages;
+    }
+}
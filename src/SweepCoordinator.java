@@ -0,0 +1,196 @@
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs LifeSimulation's sweep on several worker JVMs of this host, for
+ * sweeps too large for the heap and memory bandwidth of one JVM:
+ *
+ *     java SweepCoordinator workers max steps [engine] [rule] [topology] [seed] [output file]
+ *
+ * Every (m, n, chance) point is a shard. Shards go out longest first to
+ * whichever worker is free, over the worker's stdin and stdout (see
+ * SweepWorker), and come back as the count, mean and m2 of the replicates'
+ * averages (see Welford). A worker that dies gives its shard back to the front of
+ * the queue for the others; the sweep fails only when no worker is left.
+ * The output is SweepRunner's CSV, the same for the same seed: a shard
+ * asks for all of its point's replicates, and Sweep.replicates() summarizes
+ * them CHUNK at a time and merges the chunks in order, exactly as
+ * SweepRunner merges its per-chunk units.
+ */
+public final class SweepCoordinator {
+    private final Sweep sweep;
+    private final List<List<String>> commands;
+
+    public SweepCoordinator(Sweep sweep, int workers) {
+        this(sweep, Collections.nCopies(workers, workerCommand(sweep)));
+    }
+
+    // One command line per worker
+    SweepCoordinator(Sweep sweep, List<List<String>> commands) {
+        this.sweep = sweep;
+        this.commands = commands;
+    }
+
+    /**
+     * Starts this JVM's java again, with its flags and class path, on
+     * SweepWorker. Debugger and agent flags are left out, since every worker
+     * would try to open the same port or attach the same agent, and so are
+     * heap sizes, which were chosen for this JVM rather than for one of
+     * several workers sharing the host.
+     */
+    public static List<String> workerCommand(Sweep sweep) {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command()
+                    .orElse(Path.of(System.getProperty("java.home"), "bin", "java").toString()));
+        for (String flag : ManagementFactory.getRuntimeMXBean().getInputArguments())
+            if (!ownFlag(flag)) command.add(flag);
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add("SweepWorker");
+        command.add(sweep.getEngine().name());
+        command.add(sweep.getRule().toString());
+        command.add(sweep.getTopology().label());
+        command.add(Integer.toString(sweep.getSteps()));
+        command.add(Long.toString(sweep.getSeed()));
+        return command;
+    }
+
+    // Flags of this JVM that workers don't inherit
+    static boolean ownFlag(String flag) {
+        return flag.startsWith("-agentlib:") || flag.startsWith("-agentpath:") || flag.startsWith("-javaagent:")
+            || flag.equals("-Xdebug") || flag.startsWith("-Xrunjdwp") || flag.startsWith("-Xmx") || flag.startsWith("-Xms")
+            || flag.startsWith("-XX:MaxRAMPercentage") || flag.startsWith("-XX:InitialRAMPercentage");
+    }
+
+    private static final class Shard {
+        final int id, m, n, chance;
+        final long cost;
+        final CompletableFuture<Welford> partial = new CompletableFuture<>();
+
+        Shard(int id, int m, int n, int chance, long cost) {
+            this.id = id;
+            this.m = m;
+            this.n = n;
+            this.chance = chance;
+            this.cost = cost;
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException, ExecutionException {
+        if (args.length < 3) {
+            System.err.println("usage: java SweepCoordinator workers max steps [engine] [rule] [topology] [seed] [output file]");
+            System.exit(1);
+        }
+        int workers = Integer.parseInt(args[0]);
+        int max = Integer.parseInt(args[1]);
+        int steps = Integer.parseInt(args[2]);
+        LandscapeEngine engine = args.length >= 4 ? LandscapeEngine.parse(args[3]) : LandscapeEngine.CELL;
+        Rule rule = args.length >= 5 ? Rule.parse(args[4]) : Rule.CONWAY;
+        Topology topology = args.length >= 6 ? Topology.parse(args[5]) : Topology.FLAT;
+        long seed = args.length >= 7 ? Seeds.parse(args[6]) : Seeds.fresh();
+        if (!engine.supports(rule))
+            throw new IllegalArgumentException(engine + " cannot run " + rule);
+        if (!engine.supports(topology))
+            throw new IllegalArgumentException(engine + " cannot run on a " + topology.label());
+
+        PrintStream out = args.length >= 8 ? new PrintStream(args[7]) : System.out;
+        System.err.println("master seed: " + seed);
+        long start = System.nanoTime();
+        new SweepCoordinator(new Sweep(engine, rule, topology, steps, seed), workers).run(max, out);
+        out.flush();
+        if (out != System.out) out.close();
+        System.err.printf("%d workers, %.1f s%n", workers, (System.nanoTime() - start) / 1e9);
+    }
+
+    // Writes a header and then one line per (m, n, chance) point, in sweep order as they finish
+    public void run(int max, PrintStream out) throws IOException, InterruptedException, ExecutionException {
+        List<Shard> shards = new ArrayList<>();
+        for (int m = SweepRunner.MIN_SIZE; m <= max; m++)
+            for (int n = SweepRunner.MIN_SIZE; n <= m; n++)
+                for (int i = 0; i <= Sweep.CHANCES; i++)
+                    shards.add(new Shard(shards.size(), m, n, i, (long) m * n * Sweep.replicates(m, n) * sweep.getSteps()));
+        List<Shard> order = new ArrayList<>(shards);
+        order.sort(Comparator.comparingLong((Shard s) -> s.cost).reversed());
+        BlockingDeque<Shard> queue = new LinkedBlockingDeque<>(order);
+        AtomicInteger remaining = new AtomicInteger(shards.size());
+        AtomicInteger alive = new AtomicInteger(commands.size());
+
+        List<Process> processes = new ArrayList<>();
+        try {
+            for (int w = 0; w < commands.size(); w++) {
+                Process process = new ProcessBuilder(commands.get(w)).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+                processes.add(process);
+                final int worker = w;
+                Thread feeder = new Thread(() -> feed(worker, process, queue, remaining, alive, shards), "sweep-worker-" + w);
+                feeder.setDaemon(true);
+                feeder.start();
+            }
+            out.println(SweepRunner.HEADER);
+            for (Shard shard : shards)
+                out.println(SweepRunner.line(shard.m, shard.n, Sweep.chance(shard.chance), Sweep.replicates(shard.m, shard.n),
+                                             shard.partial.get()));
+        } finally {
+            for (Process process : processes)
+                process.destroy();
+        }
+    }
+
+    // Hands one worker a shard at a time until none are left or the worker dies
+    private void feed(int worker, Process process, BlockingDeque<Shard> queue, AtomicInteger remaining,
+                      AtomicInteger alive, List<Shard> shards) {
+        Shard shard = null;
+        int done = 0;
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.US_ASCII));
+             Writer out = new OutputStreamWriter(process.getOutputStream(), StandardCharsets.US_ASCII)) {
+            while (remaining.get() > 0) {
+                // keep polling: a shard can come back from a worker that dies
+                shard = queue.pollFirst(100, TimeUnit.MILLISECONDS);
+                if (shard == null) continue;
+                out.write(shard.id + " " + shard.m + " " + shard.n + " " + shard.chance + " 0 "
+                          + Sweep.replicates(shard.m, shard.n) + "\n");
+                out.flush();
+                String reply = in.readLine();
+                if (reply == null)
+                    throw new EOFException("exited with status " + process.waitFor());
+                String[] fields = reply.split(" ");
+                if (Integer.parseInt(fields[0]) != shard.id)
+                    throw new IOException("answered shard " + fields[0] + " instead of " + shard.id);
+                shard.partial.complete(new Welford(Long.parseLong(fields[1]), Double.longBitsToDouble(Long.parseUnsignedLong(fields[2], 16)),
+                                                   Double.longBitsToDouble(Long.parseUnsignedLong(fields[3], 16))));
+                shard = null;
+                done++;
+                remaining.decrementAndGet();
+            }
+            System.err.println("worker " + worker + ": " + done + " shards");
+        } catch (IOException | RuntimeException | InterruptedException e) {
+            System.err.println("worker " + worker + " died after " + done + " shards: " + e.getMessage());
+            process.destroy();
+            if (shard != null)
+                queue.addFirst(shard);
+            if (alive.decrementAndGet() == 0 && remaining.get() > 0) {
+                IllegalStateException failure = new IllegalStateException("every sweep worker died", e);
+                for (Shard s : shards)
+                    s.partial.completeExceptionally(failure);
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+file name:      SweepCoordinatorTests.java
+
+How to run:     java -ea SweepCoordinatorTests
+
+*/
+
+//Note: this file is ready to run
+//Starts worker JVMs on this machine's java; a shard held by a worker that dies goes to another.
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+public class SweepCoordinatorTests {
+
+    public static void main(String[] args) throws Exception {
+
+        // case 1: testing worker JVMs give SweepRunner's sweep, with one worker dying at start
+        {
+            // set up
+            Sweep sweep = new Sweep(LandscapeEngine.PACKED, Rule.CONWAY, Topology.TORUS, 25, 42);
+            List<String> broken = new ArrayList<>(SweepCoordinator.workerCommand(sweep));
+            broken.set(broken.indexOf("PACKED"), "NO_SUCH_ENGINE");
+            ByteArrayOutputStream coordinated = new ByteArrayOutputStream(), local = new ByteArrayOutputStream();
+            new SweepCoordinator(sweep, List.of(SweepCoordinator.workerCommand(sweep), broken)).run(4, new PrintStream(coordinated));
+            SweepRunner.run(sweep, 4, 2, new PrintStream(local));
+
+            // verify
+            System.out.println( coordinated.toString().lines().count() + " == " + local.toString().lines().count() );
+
+            // test
+            assert coordinated.toString().equals(local.toString()) : "Error in SweepCoordinator::run()";
+        }
+
+        // case 2: testing the sweep fails once every worker has died
+        {
+            // set up
+            Sweep sweep = new Sweep(LandscapeEngine.CELL, Rule.CONWAY, Topology.FLAT, 10, 1);
+            List<String> broken = new ArrayList<>(SweepCoordinator.workerCommand(sweep));
+            broken.set(broken.indexOf("CELL"), "NO_SUCH_ENGINE");
+            boolean failed = false;
+            try {
+                new SweepCoordinator(sweep, List.of(broken, broken)).run(2, new PrintStream(new ByteArrayOutputStream()));
+            } catch (ExecutionException e) {
+                failed = true;
+            }
+
+            // verify
+            System.out.println( "failed: " + failed );
+
+            // test
+            assert failed : "Error in SweepCoordinator::run() without workers";
+        }
+
+        // case 3: testing workers drop debugger, agent and heap flags and keep the others
+        {
+            // set up
+            String[] dropped = { "-agentlib:jdwp=transport=dt_socket,server=y,address=5005", "-javaagent:agent.jar", "-Xdebug", "-Xmx8g", "-Xms1g" };
+            String[] kept = { "--enable-preview", "--add-modules=jdk.incubator.vector", "-ea", "-Xss4m", "-Dx=1" };
+
+            // verify
+            System.out.println( dropped.length + " flags dropped, " + kept.length + " kept" );
+
+            // test
+            for (String flag : dropped)
+                assert SweepCoordinator.ownFlag(flag) : "Error in SweepCoordinator::ownFlag() keeping " + flag;
+            for (String flag : kept)
+                assert !SweepCoordinator.ownFlag(flag) : "Error in SweepCoordinator::ownFlag() dropping " + flag;
+        }
+    }
+}
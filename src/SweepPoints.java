@@ -0,0 +1,177 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/**
+ * The size x chance points of the extension programs, which chart them.
+ * Holds the settings after the programs' first three arguments (topology,
+ * exact or sampled, master seed, target half-width, maximum replicates,
+ * rule) and answers a point from, in order, this launch's PointCache, the
+ * ResultCache of earlier launches, the exact StateSpace sums for boards of
+ * up to StateSpace.MAX_CELLS cells, or ReplicaBatch sampling.
+ *
+ * A sampled point runs replicatesPerCell * m * n replicates unless a
+ * maximum is given. Exact points of one size share one pass over every
+ * start board, so addPoints() queues that size as one unit which makes the
+ * sums and then answers all chances from them.
+ */
+public final class SweepPoints {
+    private final int steps, replicatesPerCell;
+    private final Topology topology;
+    private final boolean exact; // exact averages for boards of up to StateSpace.MAX_CELLS cells
+    private final long seed; // sampled replicates draw from streams derived from it
+    private final double halfWidth; // sampling stops once a point's 95% interval is this narrow; 0 runs every replicate
+    private final int maxReplicates; // replicates per sampled point at most; 0 keeps the default
+    private final Rule rule;
+    private final File stateSpaceDir;
+    private final PointCache points = new PointCache(); // shared by every thread of the sweep
+    private final ConcurrentHashMap<String, CompletableFuture<StateSpace.Sums>> sums = new ConcurrentHashMap<>();
+    private ResultCache results; // points of earlier runs; null if the file can't be opened
+    private Path resultFile;
+
+    public SweepPoints(int steps, Topology topology, boolean exact, long seed, double halfWidth, int maxReplicates,
+                       Rule rule, int replicatesPerCell, File stateSpaceDir) {
+        this.steps = steps;
+        this.topology = topology;
+        this.exact = exact;
+        this.seed = seed;
+        this.halfWidth = halfWidth;
+        this.maxReplicates = maxReplicates;
+        this.rule = rule;
+        this.replicatesPerCell = replicatesPerCell;
+        this.stateSpaceDir = stateSpaceDir;
+    }
+
+    /**
+     * Reads args[3] onwards: topology, exact|sampled, master seed,
+     * half-width, maximum replicates and rulestring, each optional in turn.
+     * The seed is fresh when none is given.
+     */
+    public static SweepPoints parse(String[] args, int steps, int replicatesPerCell, File stateSpaceDir) {
+        Topology topology = args.length >= 4 ? Topology.parse(args[3]) : Topology.FLAT;
+        boolean exact = args.length < 5 || !args[4].equalsIgnoreCase("sampled");
+        long seed = args.length >= 6 ? Seeds.parse(args[5]) : Seeds.fresh();
+        double halfWidth = args.length >= 7 ? Double.parseDouble(args[6]) : 0;
+        int maxReplicates = args.length >= 8 ? Integer.parseInt(args[7]) : 0;
+        Rule rule = args.length >= 9 ? Rule.parse(args[8]) : Rule.CONWAY;
+        return new SweepPoints(steps, topology, exact, seed, halfWidth, maxReplicates, rule, replicatesPerCell, stateSpaceDir);
+    }
+
+    public Topology getTopology() {
+        return topology;
+    }
+
+    public Rule getRule() {
+        return rule;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public PointCache getPointCache() {
+        return points;
+    }
+
+    // Keeps results in file across launches; without it every launch computes its points again
+    public void openResults(Path file) {
+        try {
+            results = new ResultCache(file);
+            resultFile = file;
+            System.out.println(results.size() + " results cached in " + file);
+        } catch (IOException e) {
+            System.err.println("Error opening result cache " + file + ", running without it: " + e.getMessage());
+        }
+    }
+
+    private boolean exactPoint(int m, int n) {
+        return exact && StateSpace.fits(m, n);
+    }
+
+    // rough cost of a point in cell updates, so the scheduler can start the longest points first
+    public long cost(int m, int n) {
+        if (exactPoint(m, n))
+            return (1L << (m * n)) * m * n; // one pass over every start board, shared by all chances
+        return (long) m * n * replicates(m, n) * steps / 64; // at most that many replicates, 64 to a batch
+    }
+
+    private int replicates(int m, int n) {
+        return maxReplicates > 0 ? maxReplicates : replicatesPerCell * m * n;
+    }
+
+    /**
+     * Queues every chance of an m x n board on scheduler and hands each
+     * point to done as it finishes, on the worker that computed it.
+     */
+    public void addPoints(SweepScheduler scheduler, int m, int n, BiConsumer<Double, double[]> done) {
+        if (exactPoint(m, n)) {
+            // one unit, so no worker waits for another one's pass over the start boards
+            scheduler.add(cost(m, n), () -> {
+                for (int i = 0; i <= Sweep.CHANCES; i++)
+                    done.accept(Sweep.chance(i), point(m, n, Sweep.chance(i)));
+            });
+            return;
+        }
+        for (int i = 0; i <= Sweep.CHANCES; i++) {
+            double chance = Sweep.chance(i);
+            scheduler.add(cost(m, n), () -> done.accept(chance, point(m, n, chance)));
+        }
+    }
+
+    // Returns { average, deviation }; concurrent requests for one point share a single computation
+    public double[] point(int m, int n, double chance) {
+        return points.get(PointCache.key(topology, m, n, chance), () -> compute(m, n, chance));
+    }
+
+    private double[] compute(int m, int n, double chance) {
+        // exact points depend on neither replicates nor seed
+        boolean exactPoint = exactPoint(m, n);
+        int r = exactPoint ? 0 : replicates(m, n);
+        double pointHalfWidth = exactPoint ? 0 : halfWidth;
+        long pointSeed = exactPoint ? 0 : seed;
+        // a run with the same key, in this launch or an earlier one, already has the answer
+        double[] result = results == null ? null
+            : results.get(rule, topology, m, n, chance, steps, r, pointHalfWidth, pointSeed);
+        if (result != null) return result;
+        if (exactPoint) {
+            // weights every start board by its probability instead of sampling replicates
+            result = sums(m, n).averageAndDeviation(chance);
+        } else {
+            // 64 replicates advance together and stop once all of them together repeat a state;
+            // with a half-width, batches stop once the mean is known that closely
+            Welford averages = ReplicaBatch.replicateAverages(m, n, chance, rule, topology, r, steps, seed, halfWidth);
+            result = new double[]{ averages.getMean(), averages.deviation() };
+        }
+        if (results != null) {
+            try {
+                results.put(rule, topology, m, n, chance, steps, r, pointHalfWidth, pointSeed, result);
+            } catch (IOException e) {
+                System.err.println("Error saving result to " + resultFile + ": " + e.getMessage());
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Per-population sums over every start board of an m x n landscape; the
+     * table itself is dropped after one pass. Built at most once, and
+     * outside any map lock, so other sizes' lookups never wait on it.
+     */
+    private StateSpace.Sums sums(int m, int n) {
+        CompletableFuture<StateSpace.Sums> mine = new CompletableFuture<>();
+        CompletableFuture<StateSpace.Sums> existing = sums.putIfAbsent(m + "," + n, mine);
+        if (existing != null) return existing.join();
+        try {
+            StateSpace.Sums built = StateSpace.load(m, n, rule, topology, stateSpaceDir).sums(steps);
+            mine.complete(built);
+            return built;
+        } catch (RuntimeException | Error e) {
+            sums.remove(m + "," + n, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+file name:      SweepPointsTests.java
+
+How to run:     java --enable-preview --add-modules jdk.incubator.vector -ea SweepPointsTests
+
+*/
+
+//Note: this file is ready to run
+//The extension programs' points must be the ones StateSpace and ReplicaBatch give on their own.
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class SweepPointsTests {
+
+    public static void main(String[] args) throws Exception {
+
+        // case 1: testing the arguments after the first three
+        {
+            // set up
+            SweepPoints defaults = SweepPoints.parse(new String[]{ "9", "1024" }, 1024, 1, new File("."));
+            SweepPoints given = SweepPoints.parse(new String[]{ "9", "1024", "out", "torus", "sampled", "42", "0.05", "4096", "B36/S23" },
+                                                  1024, 1, new File("."));
+
+            // verify
+            System.out.println( given.getTopology() + " " + given.getSeed() + " " + given.getRule() + " == TORUS 42 B36/S23" );
+
+            // test
+            assert defaults.getTopology() == Topology.FLAT && defaults.getRule().isConway() : "Error in SweepPoints::parse() defaults";
+            assert given.getTopology() == Topology.TORUS && given.getSeed() == 42 && given.getRule().equals(Rule.parse("B36/S23"))
+                : "Error in SweepPoints::parse()";
+        }
+
+        // case 2: testing exact and sampled points against StateSpace and ReplicaBatch
+        {
+            // set up
+            File dir = Files.createTempDirectory("states").toFile();
+            Rule highLife = Rule.parse("B36/S23");
+            SweepPoints exact = new SweepPoints(64, Topology.TORUS, true, 0, 0, 0, highLife, 1, dir);
+            SweepPoints sampled = new SweepPoints(64, Topology.TORUS, false, 7, 0, 0, highLife, 2, dir);
+            double[] expected = StateSpace.build(3, 4, highLife, Topology.TORUS).sums(64).averageAndDeviation(0.35);
+            Welford averages = ReplicaBatch.replicateAverages(3, 4, 0.35, highLife, Topology.TORUS, 2 * 3 * 4, 64, 7, 0);
+
+            // verify
+            System.out.println( exact.point(3, 4, 0.35)[0] + " == " + expected[0] );
+            System.out.println( sampled.point(3, 4, 0.35)[0] + " == " + averages.getMean() );
+
+            // test
+            assert exact.point(3, 4, 0.35)[0] == expected[0] && exact.point(3, 4, 0.35)[1] == expected[1] : "Error in SweepPoints::point() exact";
+            assert sampled.point(3, 4, 0.35)[0] == averages.getMean() : "Error in SweepPoints::point() sampled";
+            for (File f : dir.listFiles()) f.delete();
+            dir.delete();
+        }
+
+        // case 3: testing an exact size is queued as one unit that answers every chance
+        {
+            // set up
+            File dir = Files.createTempDirectory("states").toFile();
+            SweepPoints exact = new SweepPoints(32, Topology.FLAT, true, 0, 0, 0, Rule.CONWAY, 1, dir);
+            SweepPoints sampled = new SweepPoints(32, Topology.FLAT, false, 1, 0, 64, Rule.CONWAY, 1, dir);
+            SweepScheduler scheduler = new SweepScheduler(4);
+            Map<Double, double[]> found = new ConcurrentHashMap<>();
+            exact.addPoints(scheduler, 4, 4, found::put);
+            int exactUnits = scheduler.run().getUnits();
+            sampled.addPoints(scheduler, 4, 4, (chance, result) -> { });
+            int sampledUnits = scheduler.run().getUnits();
+
+            // verify
+            System.out.println( exactUnits + " == 1, " + sampledUnits + " == " + (Sweep.CHANCES + 1) );
+
+            // test
+            assert exactUnits == 1 && found.size() == Sweep.CHANCES + 1 : "Error in SweepPoints::addPoints() exact";
+            assert sampledUnits == Sweep.CHANCES + 1 : "Error in SweepPoints::addPoints() sampled";
+            assert found.get(Sweep.chance(7))[0] == exact.point(4, 4, Sweep.chance(7))[0] : "Error in SweepPoints::addPoints() results";
+            for (File f : dir.listFiles()) f.delete();
+            dir.delete();
+        }
+    }
+}
@@ -0,0 +1,107 @@
+import java.io.FileNotFoundException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the same sweep as LifeSimulation without JavaFX, for headless
+ * machines:
+ *
+ *     java SweepRunner max steps [engine] [rule] [topology] [seed] [threads] [output file]
+ *
+ * Each point is split into chunks of replicates that a SweepScheduler runs
+ * longest first on a pool of threads (default: one per processor). Points
+ * are written as CSV lines in sweep order as soon as each one and all
+ * before it are done; output goes to stdout unless a file is given, and
+ * the workers' utilization goes to stderr at the end.
+ */
+public class SweepRunner {
+    static final int MIN_SIZE = 1;
+    static final String HEADER = "m,n,chance,replicates,average,deviation";
+
+    public static void main(String[] args) throws FileNotFoundException, InterruptedException, ExecutionException {
+        if (args.length < 2) {
+            System.err.println("usage: java SweepRunner max steps [engine] [rule] [topology] [seed] [threads] [output file]");
+            System.exit(1);
+        }
+        int max = Integer.parseInt(args[0]);
+        int steps = Integer.parseInt(args[1]);
+        LandscapeEngine engine = args.length >= 3 ? LandscapeEngine.parse(args[2]) : LandscapeEngine.CELL;
+        Rule rule = args.length >= 4 ? Rule.parse(args[3]) : Rule.CONWAY;
+        Topology topology = args.length >= 5 ? Topology.parse(args[4]) : Topology.FLAT;
+        long seed = args.length >= 6 ? Seeds.parse(args[5]) : Seeds.fresh();
+        int threads = args.length >= 7 ? Integer.parseInt(args[6]) : Runtime.getRuntime().availableProcessors();
+        if (!engine.supports(rule))
+            throw new IllegalArgumentException(engine + " cannot run " + rule);
+        if (!engine.supports(topology))
+            throw new IllegalArgumentException(engine + " cannot run on a " + topology.label());
+
+        PrintStream out = args.length >= 8 ? new PrintStream(args[7]) : System.out;
+        System.err.println("master seed: " + seed);
+        long start = System.nanoTime();
+        SweepScheduler.Report report = run(new Sweep(engine, rule, topology, steps, seed), max, threads, out);
+        out.flush();
+        if (out != System.out) out.close();
+        System.err.printf("%d threads, %.1f s%n", threads, (System.nanoTime() - start) / 1e9);
+        System.err.print(report);
+    }
+
+    // Writes a header and then one line per (m, n, chance) point; returns how busy the workers were
+    public static SweepScheduler.Report run(Sweep sweep, int max, int threads, PrintStream out) throws InterruptedException, ExecutionException {
+        SweepScheduler scheduler = new SweepScheduler(threads);
+        List<CompletableFuture<String>> points = new ArrayList<>();
+        for (int m = MIN_SIZE; m <= max; m++) {
+            for (int n = MIN_SIZE; n <= m; n++) {
+                for (int i = 0; i <= Sweep.CHANCES; i++) {
+                    final int fm = m, fn = n, r = Sweep.replicates(m, n);
+                    final double chance = Sweep.chance(i);
+                    // a point is split into chunks of replicates; the last chunk to finish merges them in order
+                    final int chunks = (r + Sweep.CHUNK - 1) / Sweep.CHUNK;
+                    final Welford[] partials = new Welford[chunks];
+                    final AtomicInteger remaining = new AtomicInteger(chunks);
+                    final CompletableFuture<String> point = new CompletableFuture<>();
+                    points.add(point);
+                    for (int c = 0; c < chunks; c++) {
+                        final int chunk = c, from = c * Sweep.CHUNK, to = Math.min(r, from + Sweep.CHUNK);
+                        // cells x replicates x generations; bounded runs that cycle early cost less
+                        long cost = (long) fm * fn * (to - from) * sweep.getSteps();
+                        scheduler.add(cost, () -> {
+                            partials[chunk] = sweep.replicates(fm, fn, chance, from, to);
+                            if (remaining.decrementAndGet() == 0) {
+                                Welford whole = new Welford();
+                                for (Welford partial : partials)
+                                    whole.merge(partial);
+                                point.complete(line(fm, fn, chance, r, whole));
+                            }
+                        });
+                    }
+                }
+            }
+        }
+        // the scheduler runs in the background so lines go out as soon as they and all before them are done
+        CompletableFuture<SweepScheduler.Report> report = new CompletableFuture<>();
+        Thread runner = new Thread(() -> {
+            try {
+                report.complete(scheduler.run());
+            } catch (RuntimeException | Error e) {
+                report.completeExceptionally(e);
+                for (CompletableFuture<String> point : points)
+                    point.completeExceptionally(e);
+            }
+        }, "sweep-scheduler");
+        runner.setDaemon(true);
+        runner.start();
+        out.println(HEADER);
+        for (CompletableFuture<String> point : points)
+            out.println(point.get());
+        return report.get();
+    }
+
+    // One CSV line of a point's average and deviation over its replicates' averages
+    static String line(int m, int n, double chance, int replicates, Welford averages) {
+        return String.format("%d,%d,%.2f,%d,%.6f,%.6f", m, n, chance, replicates, averages.getMean(), averages.deviation());
+    }
+}
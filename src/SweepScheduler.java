@@ -0,0 +1,116 @@
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs a sweep's units of work longest first on a work-stealing pool. A
+ * unit is added with an estimate of its cost in any unit, as long as all
+ * estimates use the same one; the big units then start first and the small
+ * ones fill in the gaps at the end instead of leaving the big ones to run
+ * alone while other threads idle.
+ *
+ * run() reports how long each worker thread spent inside units against
+ * the wall-clock time of the whole run.
+ */
+public final class SweepScheduler {
+    private final int threads;
+    private final List<Unit> units = new ArrayList<>();
+
+    public SweepScheduler(int threads) {
+        this.threads = threads;
+    }
+
+    private static final class Unit {
+        final long cost;
+        final Runnable work;
+
+        Unit(long cost, Runnable work) {
+            this.cost = cost;
+            this.work = work;
+        }
+    }
+
+    public void add(long cost, Runnable work) {
+        units.add(new Unit(cost, work));
+    }
+
+    // Runs every unit added so far and waits for them; the first failure is rethrown
+    public Report run() {
+        List<Unit> order = new ArrayList<>(units);
+        units.clear();
+        order.sort(Comparator.comparingLong((Unit u) -> u.cost).reversed());
+
+        Map<String, AtomicLong> busy = new ConcurrentHashMap<>();
+        // async mode takes queued units first in, first out, so the longest really go first
+        ForkJoinPool pool = new ForkJoinPool(threads, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+        long start = System.nanoTime();
+        try {
+            List<ForkJoinTask<?>> tasks = new ArrayList<>(order.size());
+            for (Unit unit : order) {
+                tasks.add(pool.submit(() -> {
+                    long begin = System.nanoTime();
+                    try {
+                        unit.work.run();
+                    } finally {
+                        busy.computeIfAbsent(Thread.currentThread().getName(), k -> new AtomicLong())
+                            .addAndGet(System.nanoTime() - begin);
+                    }
+                }));
+            }
+            for (ForkJoinTask<?> task : tasks)
+                task.join();
+        } finally {
+            pool.shutdownNow();
+        }
+        return new Report(order.size(), threads, System.nanoTime() - start, busy);
+    }
+
+    /**
+     * Time each worker spent running units. Workers that never got a unit
+     * are counted as idle for the whole run.
+     */
+    public static final class Report {
+        private final int units, threads;
+        private final long wallNanos;
+        private final Map<String, AtomicLong> busy;
+
+        Report(int units, int threads, long wallNanos, Map<String, AtomicLong> busy) {
+            this.units = units;
+            this.threads = threads;
+            this.wallNanos = wallNanos;
+            this.busy = busy;
+        }
+
+        public int getUnits() {
+            return units;
+        }
+
+        public long getWallNanos() {
+            return wallNanos;
+        }
+
+        // Busy time of all workers over threads x wall time
+        public double utilization() {
+            long total = 0;
+            for (AtomicLong nanos : busy.values())
+                total += nanos.get();
+            return wallNanos == 0 ? 0 : total / ((double) threads * wallNanos);
+        }
+
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("%d units on %d threads in %.2f s, %.1f%% utilization%n",
+                                    units, threads, wallNanos / 1e9, 100 * utilization()));
+            busy.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> sb.append(String.format("  %s: %.2f s busy, %.1f%%%n", e.getKey(),
+                                                      e.getValue().get() / 1e9, 100.0 * e.getValue().get() / wallNanos)));
+            return sb.toString();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+/*
+file name:      SweepSchedulerTests.java
+
+How to run:     java -ea SweepSchedulerTests
+
+*/
+
+//Note: this file is ready to run
+//Chunks of a point merged in order must give the point itself.
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class SweepSchedulerTests {
+
+    public static void main(String[] args) {
+
+        // case 1: testing units run longest first on one thread
+        {
+            // set up
+            SweepScheduler scheduler = new SweepScheduler(1);
+            List<Long> order = Collections.synchronizedList(new ArrayList<>());
+            long[] costs = { 3, 40, 7, 1000, 12 };
+            for (long cost : costs)
+                scheduler.add(cost, () -> order.add(cost));
+            SweepScheduler.Report report = scheduler.run();
+
+            // verify
+            System.out.println( order );
+            System.out.print( report );
+
+            // test
+            assert order.equals(List.of(1000L, 40L, 12L, 7L, 3L)) : "Error in SweepScheduler::run() order";
+            assert report.utilization() >= 0 && report.utilization() <= 1 : "Error in SweepScheduler.Report::utilization()";
+        }
+
+        // case 2: testing chunks of replicates merge into the whole point
+        {
+            // set up
+            Sweep sweep = new Sweep(LandscapeEngine.CELL, Rule.CONWAY, Topology.FLAT, 30, 42);
+            int r = Sweep.replicates(4, 3);
+            Welford[] chunks = new Welford[3];
+            SweepScheduler scheduler = new SweepScheduler(3);
+            for (int c = 0; c < 3; c++) {
+                final int chunk = c;
+                scheduler.add(c, () -> chunks[chunk] = sweep.replicates(4, 3, 0.35, chunk * r / 3, (chunk + 1) * r / 3));
+            }
+            scheduler.run();
+            Welford whole = new Welford();
+            for (Welford chunk : chunks)
+                whole.merge(chunk);
+            double[] merged = { whole.getMean(), whole.deviation() };
+            double[] point = sweep.point(4, 3, 0.35);
+
+            // verify
+            System.out.println( merged[0] + " == " + point[0] );
+
+            // test
+            assert whole.getCount() == r : "Error in Welford::merge() count";
+            assert Math.abs(merged[0] - point[0]) < 1e-12 && Math.abs(merged[1] - point[1]) < 1e-9 : "Error in Sweep::replicates() chunks";
+        }
+    }
+}
@@ -0,0 +1,49 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One worker process of a SweepCoordinator:
+ *
+ *     java SweepWorker engine rule topology steps seed
+ *
+ * Reads shards, one per line, as "id m n chance-index from to" and answers
+ * each with "id count mean m2", the Welford summary of the averages of
+ * replicates from .. to - 1 of that point as Sweep.replicates() merges them
+ * chunk by chunk, mean and m2 being the raw bits
+ * of the doubles in hex so the coordinator merges exactly what the worker
+ * summed. It stops at the end of its input.
+ * serve() only needs a pair of streams, so a socket can stand in for the
+ * pipes to run workers on other hosts.
+ */
+public class SweepWorker {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 5) {
+            System.err.println("usage: java SweepWorker engine rule topology steps seed");
+            System.exit(1);
+        }
+        Sweep sweep = new Sweep(LandscapeEngine.parse(args[0]), Rule.parse(args[1]), Topology.parse(args[2]),
+                                Integer.parseInt(args[3]), Seeds.parse(args[4]));
+        serve(sweep, System.in, System.out);
+    }
+
+    public static void serve(Sweep sweep, InputStream in, OutputStream out) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.US_ASCII));
+        PrintStream writer = new PrintStream(out, false, StandardCharsets.US_ASCII);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String[] shard = line.trim().split(" ");
+            int m = Integer.parseInt(shard[1]), n = Integer.parseInt(shard[2]);
+            Welford averages = sweep.replicates(m, n, Sweep.chance(Integer.parseInt(shard[3])),
+                                                     Integer.parseInt(shard[4]), Integer.parseInt(shard[5]));
+            writer.println(shard[0] + " " + averages.getCount() + " " + Long.toHexString(Double.doubleToRawLongBits(averages.getMean()))
+                           + " " + Long.toHexString(Double.doubleToRawLongBits(averages.getM2())));
+            writer.flush();
+        }
+    }
+}
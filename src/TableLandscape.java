@@ -0,0 +1,175 @@
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.random.RandomGenerator;
+
+/**
+ * Landscape engine that resolves 2x2 cells per table lookup. The 4x4 block
+ * around each 2x2 block is read from bit-packed rows as a 16-bit index into
+ * a 64K table holding the next state of the inner 2x2 cells.
+ *
+ * The table is built from the landscape's Rule, so any outer-totalistic
+ * rule costs the same as B3/S23. Tables are built once per rule and shared.
+ *
+ * Rows are stored with one dead column on the left, so column c is bit c + 1,
+ * and with dead rows above and below the board. On a torus those border bits
+ * and rows hold ghost copies of the opposite edges, refreshed before each
+ * generation, so the lookup loop is the same for both topologies.
+ */
+public class TableLandscape extends AbstractLandscape {
+    private static final Map<Rule, byte[]> TABLES = new ConcurrentHashMap<>();
+
+    private final byte[] table;
+    private final int wordsPerRow;
+    private final long[] columnMask;
+    private long[] cells, next;
+
+    public TableLandscape(int rows, int columns) {
+        this(rows, columns, 0.5);
+    }
+
+    public TableLandscape(int rows, int columns, double chance) {
+        this(rows, columns, chance, Rule.CONWAY);
+    }
+
+    public TableLandscape(int rows, int columns, double chance, Rule rule) {
+        this(rows, columns, chance, rule, Topology.FLAT);
+    }
+
+    public TableLandscape(int rows, int columns, double chance, Rule rule, Topology topology) {
+        super(rows, columns, chance, rule, topology);
+        table = table(rule);
+        wordsPerRow = (columns >>> 6) + 2;
+        // one dead row on top, and two below so odd row counts still read a full 4x4 block
+        cells = new long[(rows + 3) * wordsPerRow];
+        next = new long[(rows + 3) * wordsPerRow];
+        columnMask = new long[wordsPerRow];
+        for (int c = 0; c < columns; c++)
+            columnMask[(c + 1) >>> 6] |= 1L << ((c + 1) & 63);
+        reset();
+    }
+
+    // Returns the shared table for a rule, building it on first use
+    public static byte[] table(Rule rule) {
+        return TABLES.computeIfAbsent(rule, TableLandscape::buildTable);
+    }
+
+    /**
+     * Index bit (r * 4 + c) is cell (r, c) of the 4x4 block. Entry bits 0..3
+     * are the next states of cells (1, 1), (1, 2), (2, 1) and (2, 2).
+     */
+    static byte[] buildTable(Rule rule) {
+        byte[] table = new byte[1 << 16];
+        for (int index = 0; index < table.length; index++) {
+            int entry = 0, bit = 0;
+            for (int r = 1; r <= 2; r++) {
+                for (int c = 1; c <= 2; c++, bit++) {
+                    int count = 0;
+                    for (int i = r - 1; i <= r + 1; i++)
+                        for (int j = c - 1; j <= c + 1; j++)
+                            if (i != r || j != c) count += (index >>> (i * 4 + j)) & 1;
+                    boolean alive = ((index >>> (r * 4 + c)) & 1) != 0;
+                    if (rule.next(alive, count)) entry |= 1 << bit;
+                }
+            }
+            table[index] = (byte) entry;
+        }
+        return table;
+    }
+
+    public boolean getAlive(int row, int col) {
+        int bit = col + 1;
+        return ((cells[(row + 1) * wordsPerRow + (bit >>> 6)] >>> (bit & 63)) & 1L) != 0;
+    }
+
+    public void setAlive(int row, int col, boolean alive) {
+        int bit = col + 1, index = (row + 1) * wordsPerRow + (bit >>> 6);
+        long word = cells[index];
+        if (alive) cells[index] |= 1L << (bit & 63);
+        else cells[index] &= ~(1L << (bit & 63));
+        population += Long.bitCount(cells[index]) - Long.bitCount(word);
+    }
+
+    public int stateWords() {
+        return rows * wordsPerRow;
+    }
+
+    // The board rows only; border bits and rows may hold ghost cells
+    public void copyState(long[] words) {
+        for (int i = 0; i < rows * wordsPerRow; i++)
+            words[i] = cells[wordsPerRow + i] & columnMask[i % wordsPerRow];
+    }
+
+    public void reset(RandomGenerator rand) {
+        Arrays.fill(cells, 0L);
+        clearCounters();
+        Bernoulli bernoulli = new Bernoulli(rand, initialChance);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                if (bernoulli.next()) setAlive(i, j, true);
+            }
+        }
+    }
+
+    public void advance() {
+        long[] c = cells, n = next;
+        int w = wordsPerRow;
+        if (topology == Topology.TORUS) wrapBorder(c);
+        int born = 0, died = 0;
+        for (int i = 0; i < rows; i += 2) {
+            // board rows i and i + 1 are padded rows i + 1 and i + 2
+            int up = i * w, top = up + w, bottom = top + w, down = bottom + w;
+            Arrays.fill(n, top, bottom + w, 0L);
+            for (int j = 0; j < columns; j += 2) {
+                // columns j - 1 .. j + 2 start at bit j
+                int index = nibble(c, up, j) | nibble(c, top, j) << 4
+                          | nibble(c, bottom, j) << 8 | nibble(c, down, j) << 12;
+                int entry = table[index];
+                setPair(n, top, j + 1, entry & 3);
+                setPair(n, bottom, j + 1, (entry >>> 2) & 3);
+            }
+            // the second row of the last pair is the border row when rows is odd
+            int end = i + 1 < rows ? bottom + w : bottom;
+            for (int k = top; k < end; k++) {
+                long mask = columnMask[k % w], now = n[k] &= mask, before = c[k] & mask;
+                born += Long.bitCount(now & ~before);
+                died += Long.bitCount(before & ~now);
+            }
+        }
+        // with an odd row count the last pair wrote into the dead row below the board
+        if ((rows & 1) != 0) Arrays.fill(n, (rows + 1) * w, (rows + 2) * w, 0L);
+        cells = n;
+        next = c;
+        recordGeneration(born, died);
+    }
+
+    // Copies the last column into bit 0, the first into bit columns + 1, then the edge rows across
+    private void wrapBorder(long[] c) {
+        int w = wordsPerRow, lastBit = columns, ghostBit = columns + 1;
+        for (int r = 1; r <= rows; r++) {
+            int base = r * w;
+            long last = (c[base + (lastBit >>> 6)] >>> (lastBit & 63)) & 1L;
+            long first = (c[base] >>> 1) & 1L;
+            c[base] = (c[base] & ~1L) | last;
+            int k = base + (ghostBit >>> 6);
+            c[k] = (c[k] & ~(1L << (ghostBit & 63))) | (first << (ghostBit & 63));
+        }
+        System.arraycopy(c, rows * w, c, 0, w);
+        System.arraycopy(c, w, c, (rows + 1) * w, w);
+    }
+
+    // Four bits of a padded row starting at bit position pos
+    private static int nibble(long[] words, int rowStart, int pos) {
+        int k = rowStart + (pos >>> 6), b = pos & 63;
+        long v = words[k] >>> b;
+        if (b > 60) v |= words[k + 1] << (64 - b);
+        return (int) v & 0xF;
+    }
+
+    // ORs two bits into a padded row at bit position pos
+    private static void setPair(long[] words, int rowStart, int pos, int value) {
+        int k = rowStart + (pos >>> 6), b = pos & 63;
+        words[k] |= (long) value << b;
+        if (b == 63) words[k + 1] |= (long) value >>> 1;
+    }
+}
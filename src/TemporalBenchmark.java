@@ -0,0 +1,40 @@
+/*
+file name:      TemporalBenchmark.java
+
+How to run:     java TemporalBenchmark [size] [generations]
+                defaults: 2048 x 2048 board, 256 generations
+*/
+
+//Times TemporalLandscape.advance(long) for halo depths k = 1, 2, 4 and 8 on the same board.
+//k = 1 streams the whole board once per generation; larger k keeps each tile in cache for k generations.
+
+public class TemporalBenchmark {
+
+    public static void main(String[] args) {
+        int size = args.length >= 1 ? Integer.parseInt(args[0]) : 2048;
+        int generations = args.length >= 2 ? Integer.parseInt(args[1]) : 256;
+        int[] depths = { 1, 2, 4, 8 };
+
+        DenseLandscape start = new DenseLandscape(size, size, 0.3);
+        System.out.println(size + "x" + size + " board, " + generations + " generations");
+
+        double baseline = 0;
+        for (int depth : depths) {
+            TemporalLandscape landscape = new TemporalLandscape(size, size, 0., depth);
+            for (int i = 0; i < size; i++)
+                for (int j = 0; j < size; j++)
+                    landscape.setAlive(i, j, start.getAlive(i, j));
+
+            // warm up before timing
+            landscape.advance(Math.min(generations, 16));
+
+            long begin = System.nanoTime();
+            landscape.advance(generations);
+            double seconds = (System.nanoTime() - begin) / 1e9;
+            if (depth == 1) baseline = seconds;
+
+            System.out.printf("k = %d: %.3f s, %.1f Mcells/s, %.2fx vs k = 1%n", depth, seconds,
+                (double) size * size * generations / seconds / 1e6, baseline / seconds);
+        }
+    }
+}
@@ -0,0 +1,184 @@
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Landscape engine that advances several generations per pass over memory.
+ * The board is cut into TILE_SIZE x TILE_SIZE tiles. Each tile is copied
+ * into a small local buffer together with a halo k cells wide. It is then
+ * advanced k generations while it stays in cache, and only its interior is
+ * written back. The halo shrinks by one cell per generation, so after k
+ * generations exactly the interior is still exact.
+ *
+ * advance(long) uses passes of up to depth generations; advance() is a pass
+ * of one. Cells outside the board are never computed and stay dead. On a
+ * torus the halo is loaded from the opposite edges instead, so the whole
+ * local buffer is live and the generation loop is unchanged.
+ */
+public class TemporalLandscape extends AbstractLandscape {
+    public static final int TILE_SIZE = 128;
+    public static final int DEFAULT_DEPTH = 4;
+
+    private final int depth, localStride;
+    private final byte[] transitions;
+    private byte[] cells, next;
+    private final byte[] localA, localB;
+    private int passPopulation, passBirths, passDeaths;
+
+    public TemporalLandscape(int rows, int columns) {
+        this(rows, columns, 0.5);
+    }
+
+    public TemporalLandscape(int rows, int columns, double chance) {
+        this(rows, columns, chance, DEFAULT_DEPTH);
+    }
+
+    public TemporalLandscape(int rows, int columns, double chance, int depth) {
+        this(rows, columns, chance, Rule.CONWAY, depth);
+    }
+
+    public TemporalLandscape(int rows, int columns, double chance, Rule rule, int depth) {
+        this(rows, columns, chance, rule, Topology.FLAT, depth);
+    }
+
+    public TemporalLandscape(int rows, int columns, double chance, Rule rule, Topology topology, int depth) {
+        super(rows, columns, chance, rule, topology);
+        if (depth < 1)
+            throw new IllegalArgumentException("depth must be at least 1: " + depth);
+        this.depth = depth;
+        transitions = rule.transitionTable();
+        cells = new byte[rows * columns];
+        next = new byte[rows * columns];
+        localStride = TILE_SIZE + 2 * depth;
+        localA = new byte[localStride * localStride];
+        localB = new byte[localStride * localStride];
+        reset();
+    }
+
+    public boolean getAlive(int row, int col) {
+        return cells[row * columns + col] != 0;
+    }
+
+    public void setAlive(int row, int col, boolean alive) {
+        int i = row * columns + col, value = alive ? 1 : 0;
+        population += value - cells[i];
+        cells[i] = (byte) value;
+    }
+
+    public void reset(RandomGenerator rand) {
+        Arrays.fill(cells, (byte) 0);
+        clearCounters();
+        Bernoulli bernoulli = new Bernoulli(rand, initialChance);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                if (bernoulli.next()) setAlive(i, j, true);
+            }
+        }
+    }
+
+    public void advance() {
+        pass(1);
+    }
+
+    public void advance(long generations) {
+        while (generations > 0) {
+            int k = (int) Math.min(depth, generations);
+            pass(k);
+            generations -= k;
+        }
+    }
+
+    /**
+     * Advances every tile k generations from cells into next, then swaps.
+     * The population, births and deaths come from the last of the k
+     * generations, counted as each tile is written back.
+     */
+    private void pass(int k) {
+        passPopulation = 0;
+        passBirths = 0;
+        passDeaths = 0;
+        for (int r0 = 0; r0 < rows; r0 += TILE_SIZE) {
+            for (int c0 = 0; c0 < columns; c0 += TILE_SIZE) {
+                advanceTile(r0, c0, Math.min(TILE_SIZE, rows - r0), Math.min(TILE_SIZE, columns - c0), k);
+            }
+        }
+        byte[] swap = cells;
+        cells = next;
+        next = swap;
+        population = passPopulation;
+        births = passBirths;
+        deaths = passDeaths;
+    }
+
+    private void advanceTile(int r0, int c0, int height, int width, int k) {
+        int s = localStride;
+        int localRows = height + 2 * k, localCols = width + 2 * k;
+        byte[] a = localA, b = localB, t = transitions;
+
+        // load the tile and its halo; cells off the board stay 0 in both buffers
+        Arrays.fill(a, (byte) 0);
+        Arrays.fill(b, (byte) 0);
+        int rowFrom, rowTo, colFrom, colTo;
+        if (topology == Topology.TORUS) {
+            rowFrom = 0;
+            rowTo = localRows;
+            colFrom = 0;
+            colTo = localCols;
+            loadWrapped(a, r0 - k, c0 - k, localRows, localCols);
+        } else {
+            rowFrom = Math.max(0, k - r0);
+            rowTo = Math.min(localRows, rows - r0 + k);
+            colFrom = Math.max(0, k - c0);
+            colTo = Math.min(localCols, columns - c0 + k);
+            for (int y = rowFrom; y < rowTo; y++) {
+                System.arraycopy(cells, (r0 - k + y) * columns + (c0 - k + colFrom), a, y * s + colFrom, colTo - colFrom);
+            }
+        }
+
+        // generation g is exact on [g, size - g) of the local buffer
+        for (int g = 1; g <= k; g++) {
+            int yFrom = Math.max(g, rowFrom), yTo = Math.min(localRows - g, rowTo);
+            int xFrom = Math.max(g, colFrom), xTo = Math.min(localCols - g, colTo);
+            for (int y = yFrom; y < yTo; y++) {
+                int end = y * s + xTo;
+                for (int i = y * s + xFrom; i < end; i++) {
+                    int count = a[i - s - 1] + a[i - s] + a[i - s + 1]
+                              + a[i - 1]                + a[i + 1]
+                              + a[i + s - 1] + a[i + s] + a[i + s + 1];
+                    b[i] = t[(count << 1) | a[i]];
+                }
+            }
+            byte[] swap = a;
+            a = b;
+            b = swap;
+        }
+
+        // write back the interior only; b still holds generation k - 1 there
+        int count = 0, born = 0, died = 0;
+        for (int y = 0; y < height; y++) {
+            int from = (y + k) * s + k;
+            for (int i = from; i < from + width; i++) {
+                int now = a[i], before = b[i];
+                count += now;
+                born += now & ~before;
+                died += before & ~now;
+            }
+            System.arraycopy(a, from, next, (r0 + y) * columns + c0, width);
+        }
+        passPopulation += count;
+        passBirths += born;
+        passDeaths += died;
+    }
+
+    // Copies the localRows x localCols window at (top, left) into a, folding it onto the board
+    private void loadWrapped(byte[] a, int top, int left, int localRows, int localCols) {
+        for (int y = 0; y < localRows; y++) {
+            int from = Math.floorMod(top + y, rows) * columns;
+            // each run of the row stops at the right edge of the board and resumes at column 0
+            for (int x = 0; x < localCols; ) {
+                int col = Math.floorMod(left + x, columns), run = Math.min(localCols - x, columns - col);
+                System.arraycopy(cells, from + col, a, y * localStride + x, run);
+                x += run;
+            }
+        }
+    }
+}
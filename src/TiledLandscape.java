@@ -0,0 +1,140 @@
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Landscape engine that splits the board into TILE_SIZE x TILE_SIZE tiles and
+ * only evaluates tiles that changed in the last generation or touch one that
+ * did. Cells use the same bordered byte buffers as DenseLandscape, with the
+ * same ghost border on a torus, where tiles on opposite edges are neighbors.
+ *
+ * A tile that is skipped did not change, so both buffers already hold the
+ * same values for it and swapping them keeps it correct, and it adds no
+ * births or deaths to the population.
+ */
+public class TiledLandscape extends AbstractLandscape {
+    public static final int TILE_SIZE = 32;
+
+    private final int stride, tileRows, tileCols;
+    private final byte[] transitions;
+    private byte[] cells, next;
+    private boolean[] changed, nextChanged;
+    private final boolean[] active;
+    private int born, died;
+
+    public TiledLandscape(int rows, int columns) {
+        this(rows, columns, 0.5);
+    }
+
+    public TiledLandscape(int rows, int columns, double chance) {
+        this(rows, columns, chance, Rule.CONWAY);
+    }
+
+    public TiledLandscape(int rows, int columns, double chance, Rule rule) {
+        this(rows, columns, chance, rule, Topology.FLAT);
+    }
+
+    public TiledLandscape(int rows, int columns, double chance, Rule rule, Topology topology) {
+        super(rows, columns, chance, rule, topology);
+        transitions = rule.transitionTable();
+        stride = columns + 2;
+        cells = new byte[(rows + 2) * stride];
+        next = new byte[(rows + 2) * stride];
+        tileRows = (rows + TILE_SIZE - 1) / TILE_SIZE;
+        tileCols = (columns + TILE_SIZE - 1) / TILE_SIZE;
+        changed = new boolean[tileRows * tileCols];
+        nextChanged = new boolean[tileRows * tileCols];
+        active = new boolean[tileRows * tileCols];
+        reset();
+    }
+
+    private int index(int row, int col) {
+        return (row + 1) * stride + col + 1;
+    }
+
+    private int tile(int row, int col) {
+        return (row / TILE_SIZE) * tileCols + col / TILE_SIZE;
+    }
+
+    public boolean getAlive(int row, int col) {
+        return cells[index(row, col)] != 0;
+    }
+
+    public void setAlive(int row, int col, boolean alive) {
+        int i = index(row, col), value = alive ? 1 : 0;
+        if (cells[i] == value) return;
+        cells[i] = (byte) value;
+        population += alive ? 1 : -1;
+        changed[tile(row, col)] = true; // the other buffer is stale until this tile is evaluated
+    }
+
+    public void reset(RandomGenerator rand) {
+        Arrays.fill(cells, (byte) 0);
+        Arrays.fill(changed, true);
+        clearCounters();
+        Bernoulli bernoulli = new Bernoulli(rand, initialChance);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < columns; j++) {
+                if (bernoulli.next()) setAlive(i, j, true);
+            }
+        }
+    }
+
+    public void advance() {
+        // a tile needs work if it or any of its eight neighbor tiles changed
+        boolean torus = topology == Topology.TORUS;
+        for (int ty = 0; ty < tileRows; ty++) {
+            for (int tx = 0; tx < tileCols; tx++) {
+                boolean any = false;
+                if (torus) {
+                    for (int y = ty - 1; y <= ty + 1 && !any; y++)
+                        for (int x = tx - 1; x <= tx + 1 && !any; x++)
+                            any = changed[Math.floorMod(y, tileRows) * tileCols + Math.floorMod(x, tileCols)];
+                } else {
+                    for (int y = Math.max(0, ty - 1); y <= Math.min(tileRows - 1, ty + 1) && !any; y++)
+                        for (int x = Math.max(0, tx - 1); x <= Math.min(tileCols - 1, tx + 1) && !any; x++)
+                            any = changed[y * tileCols + x];
+                }
+                active[ty * tileCols + tx] = any;
+            }
+        }
+        if (torus) DenseLandscape.wrapBorder(cells, rows, columns);
+
+        born = 0;
+        died = 0;
+        for (int t = 0; t < active.length; t++) {
+            nextChanged[t] = active[t] && advanceTile(t);
+        }
+
+        byte[] swap = cells;
+        cells = next;
+        next = swap;
+        boolean[] swapChanged = changed;
+        changed = nextChanged;
+        nextChanged = swapChanged;
+        recordGeneration(born, died);
+    }
+
+    // Computes one tile into the next buffer and returns whether any cell changed
+    private boolean advanceTile(int t) {
+        byte[] c = cells, n = next, table = transitions;
+        int s = stride;
+        int rowStart = (t / tileCols) * TILE_SIZE, rowEnd = Math.min(rows, rowStart + TILE_SIZE);
+        int colStart = (t % tileCols) * TILE_SIZE, colEnd = Math.min(columns, colStart + TILE_SIZE);
+        int births = 0, deaths = 0;
+        for (int r = rowStart; r < rowEnd; r++) {
+            int start = index(r, colStart), end = start + (colEnd - colStart);
+            for (int i = start; i < end; i++) {
+                int neighbors = c[i - s - 1] + c[i - s] + c[i - s + 1]
+                              + c[i - 1]                + c[i + 1]
+                              + c[i + s - 1] + c[i + s] + c[i + s + 1];
+                int alive = c[i], value = table[(neighbors << 1) | alive];
+                n[i] = (byte) value;
+                births += value & ~alive;
+                deaths += alive & ~value;
+            }
+        }
+        born += births;
+        died += deaths;
+        return births + deaths != 0;
+    }
+}
@@ -0,0 +1,20 @@
+/**
+ * What a landscape's neighbors are at its edges. FLAT keeps the original
+ * behavior: bounded engines treat every cell off the board as dead, and
+ * unbounded engines simply continue the plane. TORUS wraps the board around
+ * both ways, so row -1 is row rows - 1 and column columns is column 0.
+ */
+public enum Topology {
+    FLAT,
+    TORUS;
+
+    // Accepts topology names case-insensitively, e.g. "torus"
+    public static Topology parse(String name) {
+        return valueOf(name.trim().toUpperCase());
+    }
+
+    // Lower-case name for file names and chart titles
+    public String label() {
+        return name().toLowerCase();
+    }
+}
@@ -0,0 +1,59 @@
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * DenseKernel that handles a whole vector of cells per step: the eight
+ * shifted neighbor vectors are summed, and the rule is applied by looking
+ * each lane's count up in a birth and a survival vector. Needs
+ * --add-modules jdk.incubator.vector; only load it through DenseKernel.best().
+ */
+final class VectorDenseKernel extends DenseKernel {
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    private final ByteVector born, survives;
+    private final DenseKernel tail;
+
+    VectorDenseKernel(Rule rule) {
+        // lane n holds the next state for n live neighbors, so counts 0..8 need 9 lanes
+        if (SPECIES.length() < 9)
+            throw new UnsupportedOperationException(SPECIES.vectorBitSize() + "-bit vectors are too narrow");
+        byte[] birth = new byte[SPECIES.length()], survival = new byte[SPECIES.length()];
+        for (int count = 0; count <= 8; count++) {
+            birth[count] = (byte) (rule.next(false, count) ? 1 : 0);
+            survival[count] = (byte) (rule.next(true, count) ? 1 : 0);
+        }
+        born = ByteVector.fromArray(SPECIES, birth, 0);
+        survives = ByteVector.fromArray(SPECIES, survival, 0);
+        tail = DenseKernel.scalar(rule);
+    }
+
+    public long advanceRow(byte[] c, byte[] n, int start, int end, int s) {
+        int i = start, births = 0, deaths = 0;
+        int bound = start + SPECIES.loopBound(end - start);
+        for (; i < bound; i += SPECIES.length()) {
+            ByteVector count = ByteVector.fromArray(SPECIES, c, i - s - 1)
+                .add(ByteVector.fromArray(SPECIES, c, i - s))
+                .add(ByteVector.fromArray(SPECIES, c, i - s + 1))
+                .add(ByteVector.fromArray(SPECIES, c, i - 1))
+                .add(ByteVector.fromArray(SPECIES, c, i + 1))
+                .add(ByteVector.fromArray(SPECIES, c, i + s - 1))
+                .add(ByteVector.fromArray(SPECIES, c, i + s))
+                .add(ByteVector.fromArray(SPECIES, c, i + s + 1));
+            VectorMask<Byte> alive = ByteVector.fromArray(SPECIES, c, i).compare(VectorOperators.NE, (byte) 0);
+            ByteVector next = count.selectFrom(born).blend(count.selectFrom(survives), alive);
+            next.intoArray(n, i);
+            VectorMask<Byte> nextAlive = next.compare(VectorOperators.NE, (byte) 0);
+            births += nextAlive.andNot(alive).trueCount();
+            deaths += alive.andNot(nextAlive).trueCount();
+        }
+        // the last few cells that don't fill a vector
+        return tail.advanceRow(c, n, i, end, s) + changes(births, deaths);
+    }
+
+    public String describe() {
+        return "Vector API kernel active: " + SPECIES.vectorBitSize() + "-bit vectors, "
+            + SPECIES.length() + " cells per operation";
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Running mean and variance of a stream of values by Welford's method:
+ * each value moves the mean by its share of the difference and adds to
+ * the sum of squared differences from the mean (m2), so no large sums of
+ * squares are ever subtracted from each other. Two of them merge by Chan's
+ * formula, which lets chunks of replicates be summarized apart and joined.
+ */
+public final class Welford {
+    public static final double Z95 = 1.959964; // normal quantile for a 95% confidence interval
+
+    private long count;
+    private double mean, m2;
+
+    public Welford() {
+    }
+
+    // A summary sent by another process, e.g. a SweepWorker
+    public Welford(long count, double mean, double m2) {
+        this.count = count;
+        this.mean = mean;
+        this.m2 = m2;
+    }
+
+    public void add(double x) {
+        count++;
+        double delta = x - mean;
+        mean += delta / count;
+        m2 += delta * (x - mean);
+    }
+
+    public Welford merge(Welford other) {
+        if (other.count == 0) return this;
+        if (count == 0) {
+            // copy exactly, so merging into an empty summary changes no bits
+            count = other.count;
+            mean = other.mean;
+            m2 = other.m2;
+            return this;
+        }
+        long total = count + other.count;
+        double delta = other.mean - mean;
+        mean += delta * other.count / total;
+        m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+        count = total;
+        return this;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getM2() {
+        return m2;
+    }
+
+    // Variance of the values themselves (divides by count)
+    public double variance() {
+        return count == 0 ? 0 : m2 / count;
+    }
+
+    public double deviation() {
+        return Math.sqrt(variance());
+    }
+
+    // Half the width of the confidence interval of the mean, for the normal quantile z
+    public double halfWidth(double z) {
+        if (count < 2) return Double.POSITIVE_INFINITY;
+        return z * Math.sqrt(m2 / (count - 1) / count);
+    }
+}
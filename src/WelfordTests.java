@@ -0,0 +1,78 @@
+/*
+file name:      WelfordTests.java
+
+How to run:     java -ea WelfordTests
+
+*/
+
+//Note: this file is ready to run
+//Merged chunks must give the same mean and variance as one pass over all values.
+
+import java.util.SplittableRandom;
+
+public class WelfordTests {
+
+    public static void main(String[] args) {
+
+        // case 1: testing mean and variance against two passes, on values far from zero
+        {
+            // set up
+            SplittableRandom rand = new SplittableRandom(3);
+            double[] values = new double[1000];
+            for (int i = 0; i < values.length; i++)
+                values[i] = 1e9 + rand.nextDouble();
+            Welford all = new Welford();
+            for (double x : values)
+                all.add(x);
+            double mean = 0, variance = 0;
+            for (double x : values)
+                mean += x / values.length;
+            for (double x : values)
+                variance += (x - mean) * (x - mean) / values.length;
+
+            // verify
+            System.out.println( all.variance() + " == " + variance );
+
+            // test
+            assert Math.abs(all.getMean() - mean) < 1e-6 : "Error in Welford::getMean()";
+            assert Math.abs(all.variance() - variance) < 1e-6 * variance : "Error in Welford::variance()";
+        }
+
+        // case 2: testing chunks merge into the whole
+        {
+            // set up
+            Welford all = new Welford(), a = new Welford(), b = new Welford(), c = new Welford();
+            for (int i = 0; i < 100; i++) {
+                double x = (i * 37 % 101) / 7.;
+                all.add(x);
+                (i < 13 ? a : i < 60 ? b : c).add(x);
+            }
+            Welford merged = new Welford().merge(a).merge(b).merge(c);
+
+            // verify
+            System.out.println( merged.getMean() + " == " + all.getMean() );
+
+            // test
+            assert merged.getCount() == 100 : "Error in Welford::merge() count";
+            assert Math.abs(merged.getMean() - all.getMean()) < 1e-12 : "Error in Welford::merge() mean";
+            assert Math.abs(merged.getM2() - all.getM2()) < 1e-9 : "Error in Welford::merge() m2";
+        }
+
+        // case 3: testing the confidence half-width
+        {
+            // set up
+            Welford w = new Welford();
+            w.add(1);
+            double one = w.halfWidth(Welford.Z95);
+            w.add(3);
+
+            // verify
+            System.out.println( w.halfWidth(Welford.Z95) );
+
+            // test
+            assert one == Double.POSITIVE_INFINITY : "Error in Welford::halfWidth() of one value";
+            // sample variance 2, so the standard error is 1
+            assert Math.abs(w.halfWidth(Welford.Z95) - Welford.Z95) < 1e-12 : "Error in Welford::halfWidth()";
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/**
+ * Next-generation function for a whole board of at most 64 cells held in one
+ * long, cell (r, c) in bit r * columns + c. The eight neighbor words are
+ * made with shifts and precomputed edge masks (rotations on a torus) and
+ * added with PackedLandscape's full adders, so next() allocates nothing and
+ * touches no arrays.
+ */
+public final class WordBoard {
+    public static final int MAX_CELLS = 64;
+
+    private final int rows, columns, rowShift, wrapShift;
+    private final boolean torus;
+    private final PackedLandscape.Combiner rule; // null for B3/S23
+    private final long board, firstColumn, lastColumn;
+
+    public WordBoard(int rows, int columns, Rule rule, Topology topology) {
+        if (!fits(rows, columns))
+            throw new IllegalArgumentException(rows + "x" + columns + " does not fit in one word");
+        this.rows = rows;
+        this.columns = columns;
+        this.rule = PackedLandscape.Combiner.of(rule);
+        torus = topology == Topology.TORUS;
+        rowShift = columns;
+        wrapShift = (rows - 1) * columns;
+        int cells = rows * columns;
+        board = cells == 64 ? -1L : (1L << cells) - 1;
+        long first = 0L;
+        for (int r = 0; r < rows; r++)
+            first |= 1L << (r * columns);
+        firstColumn = first;
+        lastColumn = first << (columns - 1);
+    }
+
+    public static boolean fits(int rows, int columns) {
+        return rows >= 1 && columns >= 1 && rows * columns <= MAX_CELLS;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return columns;
+    }
+
+    // Bit index of cell (row, col)
+    public int bit(int row, int col) {
+        return row * columns + col;
+    }
+
+    public long next(long cells) {
+        long w = west(cells), e = east(cells);
+        long result = PackedLandscape.nextWord(
+            up(w), up(cells), up(e),
+            w, cells, e,
+            down(w), down(cells), down(e), rule);
+        return result & board;
+    }
+
+    // Bit (r, c) holds cell (r, c - 1); the last cell would otherwise move off the board
+    private long west(long x) {
+        long moved = (x << 1) & board & ~firstColumn;
+        return torus ? moved | (x >>> (columns - 1)) & firstColumn : moved;
+    }
+
+    // Bit (r, c) holds cell (r, c + 1)
+    private long east(long x) {
+        long moved = (x >>> 1) & ~lastColumn;
+        return torus ? moved | (x << (columns - 1)) & lastColumn : moved;
+    }
+
+    // Bit (r, c) holds cell (r - 1, c); two shifts so a 1 x 64 board shifts by 64 to 0
+    private long up(long x) {
+        long moved = (x << (rowShift - 1) << 1) & board;
+        return torus ? moved | x >>> wrapShift : moved;
+    }
+
+    // Bit (r, c) holds cell (r + 1, c)
+    private long down(long x) {
+        long moved = x >>> (rowShift - 1) >>> 1;
+        return torus ? moved | (x << wrapShift) & board : moved;
+    }
+}
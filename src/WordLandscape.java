@@ -0,0 +1,63 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * Landscape engine for boards of at most 64 cells: the whole board is one
+ * long, cell (r, c) in bit r * columns + c, and a generation is a single
+ * WordBoard.next() call made of shifts, edge masks and full adders. Nothing
+ * is allocated and no array is touched while advancing.
+ *
+ * The sweep picks this engine on its own for every board that fits.
+ */
+public class WordLandscape extends AbstractLandscape {
+    private final WordBoard board;
+    private long cells;
+
+    public WordLandscape(int rows, int columns) {
+        this(rows, columns, 0.5);
+    }
+
+    public WordLandscape(int rows, int columns, double chance) {
+        this(rows, columns, chance, Rule.CONWAY);
+    }
+
+    public WordLandscape(int rows, int columns, double chance, Rule rule) {
+        this(rows, columns, chance, rule, Topology.FLAT);
+    }
+
+    public WordLandscape(int rows, int columns, double chance, Rule rule, Topology topology) {
+        super(rows, columns, chance, rule, topology);
+        board = new WordBoard(rows, columns, rule, topology);
+        reset();
+    }
+
+    public static boolean fits(int rows, int columns) {
+        return WordBoard.fits(rows, columns);
+    }
+
+    public boolean getAlive(int row, int col) {
+        return (cells >>> board.bit(row, col) & 1L) != 0;
+    }
+
+    public void setAlive(int row, int col, boolean alive) {
+        if (alive) cells |= 1L << board.bit(row, col);
+        else cells &= ~(1L << board.bit(row, col));
+        population = Long.bitCount(cells);
+    }
+
+    // The board is already in copyState()'s layout
+    public void copyState(long[] words) {
+        words[0] = cells;
+    }
+
+    public void reset(RandomGenerator rand) {
+        clearCounters();
+        cells = Bernoulli.nextWord(rand, initialChance) & -1L >>> (64 - rows * columns);
+        population = Long.bitCount(cells);
+    }
+
+    public void advance() {
+        long next = board.next(cells);
+        recordGeneration(Long.bitCount(next & ~cells), Long.bitCount(cells & ~next));
+        cells = next;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+file name:      WordLandscapeTests.java
+
+How to run:     java -ea WordLandscapeTests
+
+*/
+
+//Note: this file is ready to run
+//WordLandscape must match the packed engine on every board that fits in a word.
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class WordLandscapeTests {
+
+    private static final Rule[] RULES = { Rule.CONWAY, Rule.parse("B36/S23"), Rule.parse("B3/S023"), Rule.parse("B0/S8") };
+
+    public static void main(String[] args) {
+
+        // case 1: testing generations and counters against the packed engine
+        {
+            // set up
+            Random rand = new Random(3);
+            long[] s1 = new long[1], s2 = new long[1];
+            for (Rule rule : RULES) {
+                for (Topology topology : Topology.values()) {
+                    for (int m = 1; m <= 8; m++) {
+                        for (int n = 1; n <= 8; n++) {
+                            AbstractLandscape l1 = new WordLandscape(m, n, 0., rule, topology);
+                            AbstractLandscape l2 = LandscapeEngine.PACKED.create(m, n, 0., rule, topology);
+                            for (int i = 0; i < m; i++) {
+                                for (int j = 0; j < n; j++) {
+                                    boolean alive = rand.nextBoolean();
+                                    l1.setAlive(i, j, alive);
+                                    l2.setAlive(i, j, alive);
+                                }
+                            }
+                            for (int t = 0; t < 20; t++) {
+                                l1.advance();
+                                l2.advance();
+                                l1.copyState(s1);
+                                s2[0] = 0;
+                                for (int i = 0; i < m; i++)
+                                    for (int j = 0; j < n; j++)
+                                        if (l2.getAlive(i, j)) s2[0] |= 1L << (i * n + j);
+
+                                // test
+                                assert Arrays.equals(s1, s2) : "Error in WordLandscape::advance() on " + m + "x" + n + " " + rule + " " + topology;
+                                assert l1.countLivingCells() == l2.countLivingCells() : "Error in WordLandscape::countLivingCells()";
+                                assert l1.getBirths() == l2.getBirths() && l1.getDeaths() == l2.getDeaths() : "Error in WordLandscape::getBirths()/getDeaths()";
+                            }
+                        }
+                    }
+                }
+            }
+        }
+
+        // case 2: testing a full 8x8 board and the top bit
+        {
+            // set up
+            AbstractLandscape l1 = new WordLandscape(8, 8, 1.);
+
+            // verify
+            System.out.println( l1.countLivingCells() + " == 64" );
+
+            // test
+            assert l1.countLivingCells() == 64 && l1.getAlive(7, 7) : "Error in WordLandscape::reset()";
+            l1.advance();
+            assert l1.countLivingCells() == 4 && l1.getAlive(7, 7) && l1.getAlive(0, 0) : "Error in WordLandscape::advance()";
+            l1.setAlive(7, 7, false);
+            assert l1.countLivingCells() == 3 && !l1.getAlive(7, 7) : "Error in WordLandscape::setAlive()";
+        }
+    }
+}